@@ -0,0 +1,115 @@
+package com.banking.application.benchmark;
+
+import com.banking.application.cache.OffHeapAccountCache;
+import com.banking.application.cache.OffHeapAccountStore;
+import com.banking.application.model.Account;
+import com.banking.application.simulator.DatabaseTierSimulator;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine against the off-heap accounts cache with the whole book cached. Setup prints
+ * the heap and direct memory used per entry and the time of a full collection with the
+ * cache populated; the benchmarks measure lookups and updates of random accounts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-XX:MaxDirectMemorySize=2g"})
+@State(Scope.Benchmark)
+public class AccountCacheBenchmark {
+
+    @Param({"caffeine", "offheap"})
+    private String implementation;
+
+    @Param({"1000000"})
+    private int accounts;
+
+    private Cache cache;
+    private String[] accountNumbers;
+
+    @Setup
+    public void setUp() {
+        // Keys are created up front so that neither their memory nor their formatting is measured
+        accountNumbers = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountNumbers[i] = DatabaseTierSimulator.accountNumber(i);
+        }
+        Duration expireAfterWrite = Duration.ofHours(1);
+        long heapBefore = usedHeapAfterGc();
+        long directBytes = 0;
+        if ("offheap".equals(implementation)) {
+            OffHeapAccountStore store = new OffHeapAccountStore(accounts, 64, expireAfterWrite);
+            directBytes = store.allocatedBytes();
+            cache = new OffHeapAccountCache("accounts", store, new CaffeineCache("accounts",
+                    Caffeine.newBuilder().maximumSize(100).build(), false));
+        } else {
+            cache = new CaffeineCache("accounts", Caffeine.newBuilder()
+                    .maximumSize(accounts)
+                    .expireAfterWrite(expireAfterWrite)
+                    .build(), false);
+        }
+        for (int i = 0; i < accounts; i++) {
+            cache.put(accountNumbers[i], account(accountNumbers[i], i));
+        }
+
+        long heapBytes = usedHeapAfterGc() - heapBefore;
+        long gcStart = totalGcMillis();
+        System.gc();
+        long gcMillis = totalGcMillis() - gcStart;
+        System.out.printf("%n%s, %d accounts: %.0f heap bytes/entry, %.0f direct bytes/entry, full GC %d ms%n",
+                implementation, accounts, (double) heapBytes / accounts, (double) directBytes / accounts, gcMillis);
+    }
+
+    @Benchmark
+    public Object get() {
+        return cache.get(accountNumbers[ThreadLocalRandom.current().nextInt(accounts)]);
+    }
+
+    @Benchmark
+    public void put() {
+        int i = ThreadLocalRandom.current().nextInt(accounts);
+        cache.put(accountNumbers[i], account(accountNumbers[i], i));
+    }
+
+    private static Account account(String accountNumber, int i) {
+        Account account = new Account(accountNumber, "Holder " + i, 1000 + i / 100.0);
+        account.setCreationDate(new Date(1_600_000_000_000L + i));
+        return account;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += gc.getCollectionTime();
+        }
+        return total;
+    }
+}
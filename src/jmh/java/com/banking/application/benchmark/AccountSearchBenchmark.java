@@ -0,0 +1,91 @@
+package com.banking.application.benchmark;
+
+import com.banking.application.dto.AccountSearchPage;
+import com.banking.application.model.Account;
+import com.banking.application.search.AccountSearchIndex;
+import com.banking.application.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searching accounts through the in-memory index, against the alternative of fetching
+ * the full account list and filtering it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AccountSearchBenchmark {
+
+    @Param({"100000"})
+    public int accountCount;
+
+    private BenchmarkContext context;
+    private AccountService accountService;
+    private AccountSearchIndex searchIndex;
+    private Cache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext(0);
+        context.getSimulator().seed(accountCount, 100.0);
+        accountService = context.getAccountService();
+        searchIndex = context.getSearchIndex();
+        searchIndex.rebuild();
+        cache = context.getCacheManager().getCache("accounts");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountSearchPage searchByName() {
+        return searchIndex.search("holder 4242", null, 0, 20);
+    }
+
+    @Benchmark
+    public AccountSearchPage searchByNumberPrefix() {
+        return searchIndex.search(null, "acc0004", 0, 20);
+    }
+
+    @Benchmark
+    public AccountSearchPage searchByNumberPrefixLastPage() {
+        return searchIndex.search(null, "acc0004", 49, 20);
+    }
+
+    @Benchmark
+    public List<Account> listAndFilter() {
+        cache.evict("all");
+        List<Account> matches = new ArrayList<>();
+        for (Account account : accountService.getAllAccounts()) {
+            if (account.getAccountNumber().toUpperCase(Locale.ROOT).startsWith("ACC0004")) {
+                matches.add(account);
+                if (matches.size() == 20) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+}
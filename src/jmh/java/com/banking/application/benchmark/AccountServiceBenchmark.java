@@ -0,0 +1,93 @@
+package com.banking.application.benchmark;
+
+import com.banking.application.exception.InsufficientFundsException;
+import com.banking.application.model.Account;
+import com.banking.application.service.AccountService;
+import com.banking.application.simulator.DatabaseTierSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the single-account service operations against the simulated database tier.
+ * Run with {@code -prof gc} to see allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountServiceBenchmark {
+
+    private static final int ACCOUNTS = 1000;
+
+    @Param({"0"})
+    public long latencyMillis;
+
+    private BenchmarkContext context;
+    private AccountService accountService;
+    private Cache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext(latencyMillis);
+        context.getSimulator().seed(ACCOUNTS, 1_000_000_000d);
+        accountService = context.getAccountService();
+        cache = context.getCacheManager().getCache("accounts");
+        accountService.getAccount(DatabaseTierSimulator.accountNumber(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Account getAccountCacheHit() {
+        return accountService.getAccount(DatabaseTierSimulator.accountNumber(0));
+    }
+
+    @Benchmark
+    public Account getAccountCacheMiss() {
+        String accountNumber = randomAccount();
+        cache.evict(accountNumber);
+        return accountService.getAccount(accountNumber);
+    }
+
+    @Benchmark
+    public Account deposit() {
+        return accountService.deposit(randomAccount(), 1.0);
+    }
+
+    @Benchmark
+    public Account withdraw() throws InsufficientFundsException {
+        return accountService.withdraw(randomAccount(), 1.0);
+    }
+
+    @Benchmark
+    public boolean transfer() throws InsufficientFundsException {
+        int source = ThreadLocalRandom.current().nextInt(ACCOUNTS);
+        int destination = (source + 1 + ThreadLocalRandom.current().nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        return accountService.transfer(DatabaseTierSimulator.accountNumber(source), 
+                DatabaseTierSimulator.accountNumber(destination), 1.0);
+    }
+
+    private static String randomAccount() {
+        return DatabaseTierSimulator.accountNumber(ThreadLocalRandom.current().nextInt(ACCOUNTS));
+    }
+}
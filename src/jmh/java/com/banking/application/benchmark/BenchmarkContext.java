@@ -0,0 +1,128 @@
+package com.banking.application.benchmark;
+
+import com.banking.application.resilience.RetryBudget;
+import com.banking.application.search.AccountSearchIndex;
+import com.banking.application.service.AccountService;
+import com.banking.application.service.impl.AccountServiceImpl;
+import com.banking.application.service.impl.DatabaseTierClient;
+import com.banking.application.simulator.DatabaseTierSimulator;
+import com.banking.application.statement.StatementRollupStore;
+import com.banking.application.simulator.LatencyModel;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Minimal Spring context holding the real service layer, with its caching proxy,
+ * wired to an embedded {@link DatabaseTierSimulator}. Web, security, RMI and actuator are left out
+ * so that only the service hot path is measured.
+ */
+public class BenchmarkContext implements AutoCloseable {
+
+    private final DatabaseTierSimulator simulator;
+    private final AnnotationConfigApplicationContext context;
+
+    /**
+     * Start a simulated database tier and a service layer pointing at it.
+     *
+     * @param latencyMillis Latency injected into every simulator response
+     */
+    public BenchmarkContext(long latencyMillis) {
+        this(LatencyModel.fixed(latencyMillis));
+    }
+
+    /**
+     * Start a simulated database tier and a service layer pointing at it.
+     *
+     * @param latencyModel Latency injected into simulator responses
+     */
+    public BenchmarkContext(LatencyModel latencyModel) {
+        this.simulator = new DatabaseTierSimulator(latencyModel, 0, 0, Duration.ZERO, 1000);
+        simulator.start("127.0.0.1", 0);
+        this.context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Collections.singletonMap("database.tier.url", simulator.getBaseUrl())));
+        context.register(ServiceConfig.class);
+        context.refresh();
+    }
+
+    public DatabaseTierSimulator getSimulator() {
+        return simulator;
+    }
+
+    public AccountService getAccountService() {
+        return context.getBean(AccountService.class);
+    }
+
+    public AccountSearchIndex getSearchIndex() {
+        return context.getBean(AccountSearchIndex.class);
+    }
+
+    public CacheManager getCacheManager() {
+        return context.getBean(CacheManager.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        simulator.stop();
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({AccountServiceImpl.class, DatabaseTierClient.class, RetryBudget.class, AccountSearchIndex.class,
+            StatementRollupStore.class})
+    static class ServiceConfig {
+
+        @Bean(destroyMethod = "dispose")
+        public ConnectionProvider connectionProvider() {
+            // Same limits as the application's defaults, see WebClientConfig
+            return ConnectionProvider.builder("database-tier")
+                    .maxConnections(500)
+                    .pendingAcquireMaxCount(10000)
+                    .build();
+        }
+
+        @Bean
+        public WebClient webClient(Environment environment, ConnectionProvider connectionProvider) {
+            return WebClient.builder()
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                    .baseUrl(environment.getRequiredProperty("database.tier.url"))
+                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(64 * 1024 * 1024))
+                    .build();
+        }
+
+        @Bean
+        public CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager("accounts");
+            cacheManager.setCaffeine(Caffeine.newBuilder()
+                    .maximumSize(500)
+                    .expireAfterWrite(Duration.ofSeconds(300)));
+            return cacheManager;
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.banking.application.benchmark;
+
+import com.banking.application.model.Account;
+import com.banking.application.service.AccountService;
+import com.banking.application.simulator.DatabaseTierSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of fetching and decoding the full account list as the book grows.
+ * The cached list is evicted before every call so each one reaches the simulator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class GetAllAccountsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int accountCount;
+
+    @Param({"0"})
+    public long latencyMillis;
+
+    private BenchmarkContext context;
+    private AccountService accountService;
+    private Cache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext(latencyMillis);
+        context.getSimulator().seed(accountCount, 100.0);
+        accountService = context.getAccountService();
+        cache = context.getCacheManager().getCache("accounts");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Account> getAllAccounts() {
+        cache.evict("all");
+        return accountService.getAllAccounts();
+    }
+}
@@ -0,0 +1,88 @@
+package com.banking.application.benchmark;
+
+import com.banking.application.model.Account;
+import com.banking.application.model.Transaction;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encode and decode of the model classes, as done for every database tier call
+ * and every REST response.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCodecBenchmark {
+
+    private static final int HISTORY_SIZE = 200;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private Account account;
+    private Transaction transaction;
+    private Transaction[] history;
+    private byte[] accountJson;
+    private byte[] transactionJson;
+    private byte[] historyJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        account = new Account("ACC00000001", "Jane Holder", 1234.56);
+        transaction = new Transaction("6f1c2d9e-3b4a-4f5e-8a7b-1c2d3e4f5a6b", "TRANSFER_OUT", 25.0, 1209.56,
+                "Transfer to account ACC00000002", "ACC00000001", "ACC00000002");
+        history = new Transaction[HISTORY_SIZE];
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            history[i] = new Transaction("tx-" + i, "DEPOSIT", i, 1000 + i, "Deposit", null, "ACC00000001");
+        }
+        accountJson = objectMapper.writeValueAsBytes(account);
+        transactionJson = objectMapper.writeValueAsBytes(transaction);
+        historyJson = objectMapper.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public byte[] encodeAccount() throws IOException {
+        return objectMapper.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public Account decodeAccount() throws IOException {
+        return objectMapper.readValue(accountJson, Account.class);
+    }
+
+    @Benchmark
+    public byte[] encodeTransaction() throws IOException {
+        return objectMapper.writeValueAsBytes(transaction);
+    }
+
+    @Benchmark
+    public Transaction decodeTransaction() throws IOException {
+        return objectMapper.readValue(transactionJson, Transaction.class);
+    }
+
+    @Benchmark
+    public byte[] encodeHistory() throws IOException {
+        return objectMapper.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public Transaction[] decodeHistory() throws IOException {
+        return objectMapper.readValue(historyJson, Transaction[].class);
+    }
+}
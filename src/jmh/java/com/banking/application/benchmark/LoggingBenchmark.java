@@ -0,0 +1,102 @@
+package com.banking.application.benchmark;
+
+import com.banking.application.controller.AccountController;
+import com.banking.application.service.impl.AccountServiceImpl;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.util.Unbox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one deposit request: the controller and service log lines written on
+ * the request thread, under each logging configuration. Console output is discarded so
+ * that only the logging framework is measured, not the terminal. {@code off} is the
+ * cost of the calls with logging disabled, so a configuration's score minus the
+ * {@code off} score is the logging overhead per request.
+ * <p>
+ * {@code sync-unlimited} writes every line on the request thread, as before the hot-path
+ * rate limit; {@code sync} is the default and {@code async} the opt-in asynchronous
+ * configuration. The async configurations block instead of discarding when the ring
+ * buffer is full, so the score includes the background thread's formatting and writing
+ * whenever it shares the CPU, rather than the cost of dropping lines.
+ * Run with {@code -t 4} to include contention between request threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String UNLIMITED = "1000000000";
+
+    @Param({"off", "sync-unlimited", "sync", "async-unlimited", "async"})
+    private String configuration;
+
+    private PrintStream originalOut;
+    private Logger controllerLogger;
+    private Logger serviceLogger;
+
+    @Setup
+    public void setUp() throws URISyntaxException {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        if (configuration.equals("off") || configuration.endsWith("-unlimited")) {
+            System.setProperty("logging.hot-path.rate", UNLIMITED);
+            System.setProperty("logging.hot-path.max-burst", UNLIMITED);
+        }
+        if (configuration.startsWith("async")) {
+            System.setProperty("log4j2.asyncQueueFullPolicy", "Default");
+        }
+        String resource = configuration.startsWith("async") ? "log4j2-async.xml" : "log4j2-spring.xml";
+        Configurator.reconfigure(getClass().getClassLoader().getResource(resource).toURI());
+        if (configuration.equals("off")) {
+            Configurator.setAllLevels("com.banking", Level.OFF);
+        }
+
+        controllerLogger = LogManager.getLogger(AccountController.class);
+        serviceLogger = LogManager.getLogger(AccountServiceImpl.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LogManager.shutdown();
+        System.setOut(originalOut);
+        System.clearProperty("logging.hot-path.rate");
+        System.clearProperty("logging.hot-path.max-burst");
+        System.clearProperty("log4j2.asyncQueueFullPolicy");
+    }
+
+    @Benchmark
+    public void depositRequest() {
+        String accountNumber = "ACC00000001";
+        Double amount = 25.0;
+        double newBalance = 1025.0;
+        controllerLogger.info("REST request to deposit {} to account {}", amount, accountNumber);
+        serviceLogger.info("Depositing {} to account {}", Unbox.box(25.0), accountNumber);
+        serviceLogger.info("Updating balance for account {}: new balance = {}", accountNumber,
+                Unbox.box(newBalance));
+        serviceLogger.info("Recording transaction: account={}, type={}, amount={}",
+                accountNumber, "DEPOSIT", Unbox.box(25.0));
+    }
+}
@@ -0,0 +1,93 @@
+package com.banking.application.benchmark;
+
+import com.banking.application.config.VirtualThreads;
+import com.banking.application.model.Transaction;
+import com.banking.application.service.AccountService;
+import com.banking.application.simulator.DatabaseTierSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained request throughput of the blocking service layer under high database tier
+ * latency, with requests served thread-per-request from a pool the size of Tomcat's
+ * default (200 platform threads) or on one virtual thread each.
+ * <p>
+ * Each invocation submits a burst of {@value #REQUESTS} requests, each one uncached
+ * transaction history read, and waits for all of them, so the score is requests per
+ * second at full load. The virtual variant needs Java 21:
+ * {@code mvn -Pbenchmarks,jdk21 verify -Djmh.args="ThreadModelBenchmark"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+
+    private static final int ACCOUNTS = 1000;
+    private static final int REQUESTS = 2000;
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+
+    @Param({"50", "200"})
+    public long latencyMillis;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private BenchmarkContext context;
+    private AccountService accountService;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext(latencyMillis);
+        context.getSimulator().seed(ACCOUNTS, 1000);
+        accountService = context.getAccountService();
+        executor = "virtual".equals(threads)
+                ? VirtualThreads.newThreadPerTaskExecutor("request-")
+                : Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int requests() throws InterruptedException, ExecutionException {
+        List<Future<List<Transaction>>> responses = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            String accountNumber = DatabaseTierSimulator.accountNumber(i % ACCOUNTS);
+            responses.add(executor.submit(() -> accountService.getTransactionHistory(accountNumber)));
+        }
+        int transactions = 0;
+        for (Future<List<Transaction>> response : responses) {
+            transactions += response.get().size();
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,24 @@
+package com.banking.application.loadgen;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Issues operations against one front end of the application tier.
+ */
+public interface Driver extends AutoCloseable {
+
+    /**
+     * Start an operation.
+     *
+     * @param operation Operation type
+     * @param accountNumber Account to operate on
+     * @param otherAccountNumber Destination for transfers
+     * @param amount Amount for mutations
+     * @return Completes with the outcome; never completes exceptionally
+     */
+    CompletableFuture<Outcome> execute(Operation operation, String accountNumber, String otherAccountNumber,
+                                       double amount);
+
+    @Override
+    void close();
+}
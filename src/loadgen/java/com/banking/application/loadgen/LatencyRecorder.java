@@ -0,0 +1,59 @@
+package com.banking.application.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-operation latency histograms and outcome counts. Latencies are recorded in
+ * microseconds with three significant digits, up to one hour.
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Outcome, AtomicLong>> outcomes = new EnumMap<>(Operation.class);
+
+    public LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            Map<Outcome, AtomicLong> counts = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                counts.put(outcome, new AtomicLong());
+            }
+            outcomes.put(operation, counts);
+        }
+    }
+
+    public void record(Operation operation, Outcome outcome, long latencyNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        histograms.get(operation).recordValue(Math.max(micros, 1));
+        outcomes.get(operation).get(outcome).incrementAndGet();
+    }
+
+    public Histogram getHistogram(Operation operation) {
+        return histograms.get(operation);
+    }
+
+    public long getCount(Operation operation, Outcome outcome) {
+        return outcomes.get(operation).get(outcome).get();
+    }
+
+    /**
+     * Merge all operations into a single histogram.
+     *
+     * @return The combined histogram
+     */
+    public Histogram getTotal() {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        for (Histogram histogram : histograms.values()) {
+            total.add(histogram);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,186 @@
+package com.banking.application.loadgen;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for the REST and RMI front ends.
+ * <p>
+ * In open-loop mode requests are issued on a fixed arrival schedule, whether or not
+ * earlier requests have completed, and each latency is measured from the time the
+ * request was scheduled to start. A stalled server therefore shows up as high
+ * latency for every request it delayed, instead of as fewer requests
+ * (coordinated omission). Closed-loop mode runs a fixed number of users that each
+ * wait for their previous request, which is useful for finding maximum throughput.
+ * <p>
+ * Options, all as {@code --name=value}:
+ * <pre>
+ * protocol     rest or rmi (rest)
+ * target       REST base URL (http://localhost:8080)
+ * rmi          RMI registry host:port (localhost:1099)
+ * user         basic auth user for REST (user)
+ * password     basic auth password for REST (secret)
+ * mode         open or closed (open)
+ * rate         open loop: requests per second (200)
+ * users        closed loop: concurrent users (16)
+ * duration     measured seconds (60)
+ * warmup       unmeasured seconds before measuring (10)
+ * accounts     number of accounts ACC00000000 upwards, as seeded by the simulator (1000)
+ * zipf         account popularity skew, 0 for uniform (0.99)
+ * mix          operation weights (read:80,deposit:8,withdraw:7,transfer:5)
+ * amount       amount for mutations (1.00)
+ * timeout      per-request timeout in seconds (30)
+ * max-outstanding  RMI threads, i.e. concurrent RMI calls (512)
+ * label        name of the configuration under test, e.g. cache-off (default)
+ * report-dir   directory for reports (target/loadgen)
+ * </pre>
+ */
+public class LoadGenerator {
+
+    private final Map<String, String> options;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicLong outstanding = new AtomicLong();
+
+    private final OperationMix mix;
+    private final ZipfianGenerator accountChooser;
+    private final int accounts;
+    private final double amount;
+
+    public LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.mix = new OperationMix(option("mix", "read:80,deposit:8,withdraw:7,transfer:5"));
+        this.accounts = Integer.parseInt(option("accounts", "1000"));
+        this.accountChooser = new ZipfianGenerator(accounts, Double.parseDouble(option("zipf", "0.99")));
+        this.amount = Double.parseDouble(option("amount", "1.00"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadGenerator(options).run();
+    }
+
+    public void run() throws Exception {
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("warmup", "10")));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("duration", "60")));
+        boolean openLoop = !"closed".equalsIgnoreCase(option("mode", "open"));
+
+        try (Driver driver = createDriver()) {
+            System.out.printf("Running %s-loop %s load for %ds after %ds warm-up%n", openLoop ? "open" : "closed",
+                    option("protocol", "rest"), TimeUnit.NANOSECONDS.toSeconds(durationNanos),
+                    TimeUnit.NANOSECONDS.toSeconds(warmupNanos));
+            long start = System.nanoTime();
+            long measureStart = start + warmupNanos;
+            long end = measureStart + durationNanos;
+            if (openLoop) {
+                runOpenLoop(driver, start, measureStart, end);
+            } else {
+                runClosedLoop(driver, measureStart, end);
+            }
+            awaitOutstanding(Duration.ofSeconds(Long.parseLong(option("timeout", "30"))));
+            double elapsedSeconds = durationNanos / 1e9;
+
+            Path reportDir = Paths.get(option("report-dir", "target/loadgen"));
+            Path report = new LoadReport(options, recorder, elapsedSeconds).write(reportDir);
+            System.out.println("Report written to " + report);
+        }
+    }
+
+    private void runOpenLoop(Driver driver, long start, long measureStart, long end) {
+        double rate = Double.parseDouble(option("rate", "200"));
+        double intervalNanos = 1e9 / rate;
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            issue(driver, intended, intended >= measureStart);
+        }
+    }
+
+    private void runClosedLoop(Driver driver, long measureStart, long end) throws InterruptedException {
+        int users = Integer.parseInt(option("users", "16"));
+        Thread[] threads = new Thread[users];
+        for (int u = 0; u < users; u++) {
+            threads[u] = new Thread(() -> {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    issue(driver, now, now >= measureStart).join();
+                }
+            }, "loadgen-user-" + u);
+            threads[u].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Issue one request and record its latency from the intended start time.
+     */
+    private CompletableFuture<Outcome> issue(Driver driver, long intendedStart, boolean record) {
+        Operation operation = mix.next();
+        int account = accountChooser.next();
+        int other = (account + 1 + ThreadLocalRandom.current().nextInt(accounts - 1)) % accounts;
+        outstanding.incrementAndGet();
+        return driver.execute(operation, accountNumber(account), accountNumber(other), amount)
+                .whenComplete((outcome, e) -> {
+                    if (record) {
+                        recorder.record(operation, outcome != null ? outcome : Outcome.ERROR,
+                                System.nanoTime() - intendedStart);
+                    }
+                    outstanding.decrementAndGet();
+                });
+    }
+
+    private void awaitOutstanding(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        if (outstanding.get() > 0) {
+            System.out.printf("%d requests still outstanding after %s; they are not in the report%n",
+                    outstanding.get(), timeout);
+        }
+    }
+
+    private Driver createDriver() throws Exception {
+        Duration timeout = Duration.ofSeconds(Long.parseLong(option("timeout", "30")));
+        String protocol = option("protocol", "rest");
+        if ("rmi".equalsIgnoreCase(protocol)) {
+            String[] hostPort = option("rmi", "localhost:1099").split(":");
+            return new RmiDriver(hostPort[0], Integer.parseInt(hostPort[1]),
+                    Integer.parseInt(option("max-outstanding", "512")));
+        }
+        if ("rest".equalsIgnoreCase(protocol)) {
+            return new RestDriver(option("target", "http://localhost:8080"), option("user", "user"),
+                    option("password", "secret"), timeout);
+        }
+        throw new IllegalArgumentException("Unknown protocol " + protocol);
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static String accountNumber(int index) {
+        return String.format("ACC%08d", index);
+    }
+}
@@ -0,0 +1,133 @@
+package com.banking.application.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes the result of a run: a per-run report with the configuration, outcome counts,
+ * throughput, percentiles and full HdrHistogram percentile distributions, and one line
+ * per operation appended to {@code summary.csv} for comparing runs.
+ */
+public class LoadReport {
+
+    private static final String SUMMARY_HEADER =
+            "timestamp,label,protocol,mode,operation,count,ok,rejected,error,throughput,"
+                    + "p50_ms,p90_ms,p99_ms,p999_ms,max_ms,mean_ms";
+
+    private final Map<String, String> options;
+    private final LatencyRecorder recorder;
+    private final double elapsedSeconds;
+    private final String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+
+    public LoadReport(Map<String, String> options, LatencyRecorder recorder, double elapsedSeconds) {
+        this.options = options;
+        this.recorder = recorder;
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    /**
+     * Write the report and append to the summary.
+     *
+     * @param directory Directory for report files
+     * @return The path of the report written
+     * @throws IOException If a file cannot be written
+     */
+    public Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String label = options.getOrDefault("label", "default");
+        Path report = directory.resolve("loadgen-" + label + "-" + timestamp + ".txt");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(report), false, StandardCharsets.UTF_8.name())) {
+            writeReport(out);
+        }
+        writeReport(System.out);
+        appendSummary(directory.resolve("summary.csv"), label);
+        return report;
+    }
+
+    private void writeReport(PrintStream out) {
+        out.println("Configuration");
+        new TreeMap<>(options).forEach((name, value) -> {
+            if (!"password".equals(name)) {
+                out.printf("  %s=%s%n", name, value);
+            }
+        });
+        out.printf("  measured-seconds=%.1f%n%n", elapsedSeconds);
+
+        out.printf("%-9s %9s %9s %9s %7s %10s %9s %9s %9s %9s %9s %9s%n", "operation", "count", "ok",
+                "rejected", "error", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "mean ms");
+        for (Operation operation : Operation.values()) {
+            writeRow(out, operation.name(), recorder.getHistogram(operation), operation);
+        }
+        writeRow(out, "ALL", recorder.getTotal(), null);
+
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorder.getHistogram(operation);
+            if (histogram.getTotalCount() > 0) {
+                out.printf("%n%s latency distribution (ms)%n", operation);
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private void writeRow(PrintStream out, String name, Histogram histogram, Operation operation) {
+        out.printf("%-9s %9d %9d %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                histogram.getTotalCount(), count(operation, Outcome.OK), count(operation, Outcome.REJECTED),
+                count(operation, Outcome.ERROR), histogram.getTotalCount() / elapsedSeconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()), histogram.getMean() / 1000.0);
+    }
+
+    private void appendSummary(Path summary, String label) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        if (!Files.exists(summary)) {
+            lines.append(SUMMARY_HEADER).append('\n');
+        }
+        for (Operation operation : Operation.values()) {
+            appendSummaryLine(lines, label, operation.name(), recorder.getHistogram(operation), operation);
+        }
+        appendSummaryLine(lines, label, "ALL", recorder.getTotal(), null);
+        Files.write(summary, lines.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void appendSummaryLine(StringBuilder lines, String label, String name, Histogram histogram,
+                                   Operation operation) {
+        lines.append(String.format("%s,%s,%s,%s,%s,%d,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                timestamp, label, options.getOrDefault("protocol", "rest"), options.getOrDefault("mode", "open"),
+                name, histogram.getTotalCount(), count(operation, Outcome.OK),
+                count(operation, Outcome.REJECTED), count(operation, Outcome.ERROR),
+                histogram.getTotalCount() / elapsedSeconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()), histogram.getMean() / 1000.0));
+    }
+
+    /**
+     * Count outcomes for one operation, or for all operations when none is given.
+     */
+    private long count(Operation operation, Outcome outcome) {
+        if (operation != null) {
+            return recorder.getCount(operation, outcome);
+        }
+        long total = 0;
+        for (Operation each : Operation.values()) {
+            total += recorder.getCount(each, outcome);
+        }
+        return total;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
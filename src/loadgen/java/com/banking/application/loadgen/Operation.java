@@ -0,0 +1,8 @@
+package com.banking.application.loadgen;
+
+/**
+ * Request types issued by the load generator.
+ */
+public enum Operation {
+    READ, DEPOSIT, WITHDRAW, TRANSFER
+}
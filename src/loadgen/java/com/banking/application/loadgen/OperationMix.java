@@ -0,0 +1,54 @@
+package com.banking.application.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice between operations, parsed from a specification such as
+ * {@code read:80,deposit:8,withdraw:7,transfer:5}.
+ */
+public class OperationMix {
+
+    private final Operation[] operations;
+    private final double[] cumulative;
+    private final String spec;
+
+    public OperationMix(String spec) {
+        Map<Operation, Double> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Malformed operation mix: " + spec);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), Double.parseDouble(pair[1]));
+        }
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Operation mix has no weight: " + spec);
+        }
+        operations = weights.keySet().toArray(new Operation[0]);
+        cumulative = new double[operations.length];
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]) / total;
+            cumulative[i] = sum;
+        }
+        this.spec = spec;
+    }
+
+    public Operation next() {
+        double draw = ThreadLocalRandom.current().nextDouble();
+        for (int i = 0; i < operations.length; i++) {
+            if (draw < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
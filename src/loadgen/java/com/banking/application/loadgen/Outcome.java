@@ -0,0 +1,9 @@
+package com.banking.application.loadgen;
+
+/**
+ * How a request ended. Rejections are expected business outcomes such as
+ * insufficient funds; errors are failures of the system under test.
+ */
+public enum Outcome {
+    OK, REJECTED, ERROR
+}
@@ -0,0 +1,143 @@
+package com.banking.application.loadgen;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives the REST API with non-blocking requests, so a slow server never holds
+ * back the arrival schedule.
+ * <p>
+ * Under Spring Security's default configuration mutations need a CSRF token bound to
+ * a session. The driver keeps one session for the whole run and takes the token from
+ * the login page once at startup; against a server without CSRF protection it sends none.
+ */
+public class RestDriver implements Driver {
+
+    private static final Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\" type=\"hidden\" value=\"([^\"]+)\"");
+
+    private final String baseUrl;
+    private final String authorization;
+    private final Duration timeout;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final String csrfToken;
+
+    /**
+     * Constructor.
+     *
+     * @param baseUrl Base URL of the application tier, e.g. http://localhost:8080
+     * @param user Basic auth user, or null
+     * @param password Basic auth password, or null
+     * @param timeout Per-request timeout
+     */
+    public RestDriver(String baseUrl, String user, String password, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.authorization = user == null ? null : "Basic " + Base64.getEncoder()
+                .encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.timeout = timeout;
+        this.executor = Executors.newFixedThreadPool(4);
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .cookieHandler(new CookieManager())
+                .connectTimeout(timeout)
+                .build();
+        this.csrfToken = fetchCsrfToken();
+    }
+
+    private String fetchCsrfToken() {
+        try {
+            // Authenticates the session first; signing in replaces the session's CSRF token
+            client.send(request("/actuator/health").GET().build(), HttpResponse.BodyHandlers.discarding());
+            HttpResponse<String> response = client.send(request("/login").GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = CSRF_TOKEN.matcher(response.body());
+            if (response.statusCode() == 200 && matcher.find()) {
+                return matcher.group(1);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not fetch a CSRF token, sending mutations without one: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    @Override
+    public CompletableFuture<Outcome> execute(Operation operation, String accountNumber, String otherAccountNumber,
+                                              double amount) {
+        HttpRequest request;
+        switch (operation) {
+            case READ:
+                request = request("/api/accounts/" + accountNumber).GET().build();
+                break;
+            case DEPOSIT:
+                request = post("/api/accounts/" + accountNumber + "/deposit", "{\"amount\":" + format(amount) + "}");
+                break;
+            case WITHDRAW:
+                request = post("/api/accounts/" + accountNumber + "/withdraw", "{\"amount\":" + format(amount) + "}");
+                break;
+            case TRANSFER:
+                request = post("/api/accounts/" + accountNumber + "/transfer",
+                        "{\"destinationAccountNumber\":\"" + otherAccountNumber + "\",\"amount\":"
+                                + format(amount) + "}");
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported operation " + operation);
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> outcome(operation, response.statusCode()))
+                .exceptionally(e -> Outcome.ERROR);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static Outcome outcome(Operation operation, int status) {
+        if (status >= 200 && status < 300) {
+            return Outcome.OK;
+        }
+        // Insufficient funds is reported as 400
+        if (status == 400 && (operation == Operation.WITHDRAW || operation == Operation.TRANSFER)) {
+            return Outcome.REJECTED;
+        }
+        return Outcome.ERROR;
+    }
+
+    private HttpRequest post(String path, String json) {
+        HttpRequest.Builder builder = request(path);
+        if (csrfToken != null) {
+            builder.header("X-CSRF-TOKEN", csrfToken);
+        }
+        return builder
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return builder;
+    }
+
+    private static String format(double amount) {
+        return String.format(Locale.ROOT, "%.2f", amount);
+    }
+}
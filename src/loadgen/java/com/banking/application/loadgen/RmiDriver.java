@@ -0,0 +1,79 @@
+package com.banking.application.loadgen;
+
+import com.banking.application.exception.InsufficientFundsException;
+import com.banking.application.service.rmi.AccountRegistry;
+import com.banking.application.service.rmi.RemoteAccount;
+
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drives the RMI front end the way legacy clients use it: look up the account,
+ * then call it. RMI calls block, so each request runs on its own pool thread and
+ * the pool size caps how many requests can be outstanding.
+ */
+public class RmiDriver implements Driver {
+
+    private final AccountRegistry registry;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor.
+     *
+     * @param host RMI registry host
+     * @param port RMI registry port
+     * @param maxOutstanding Maximum concurrent calls
+     * @throws Exception If the registry lookup fails
+     */
+    public RmiDriver(String host, int port, int maxOutstanding) throws Exception {
+        Registry rmiRegistry = LocateRegistry.getRegistry(host, port);
+        this.registry = (AccountRegistry) rmiRegistry.lookup("AccountRegistry");
+        this.executor = Executors.newFixedThreadPool(maxOutstanding);
+    }
+
+    @Override
+    public CompletableFuture<Outcome> execute(Operation operation, String accountNumber, String otherAccountNumber,
+                                              double amount) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                RemoteAccount account = registry.getAccount(accountNumber);
+                if (account == null) {
+                    return Outcome.ERROR;
+                }
+                switch (operation) {
+                    case READ:
+                        account.getBalance();
+                        break;
+                    case DEPOSIT:
+                        account.deposit(amount);
+                        break;
+                    case WITHDRAW:
+                        account.withdraw(amount);
+                        break;
+                    case TRANSFER:
+                        RemoteAccount destination = registry.getAccount(otherAccountNumber);
+                        if (destination == null) {
+                            return Outcome.ERROR;
+                        }
+                        account.transfer(destination, amount);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unsupported operation " + operation);
+                }
+                return Outcome.OK;
+            } catch (InsufficientFundsException e) {
+                return Outcome.REJECTED;
+            } catch (Exception e) {
+                return Outcome.ERROR;
+            }
+        }, executor);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
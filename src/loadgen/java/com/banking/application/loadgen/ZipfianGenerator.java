@@ -0,0 +1,41 @@
+package com.banking.application.loadgen;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws item indexes with Zipfian popularity: index 0 is the most popular and item
+ * {@code i} is chosen with probability proportional to {@code 1 / (i + 1)^s}.
+ * The cumulative distribution is precomputed, so each draw is a binary search.
+ */
+public class ZipfianGenerator {
+
+    private final double[] cumulative;
+
+    /**
+     * Constructor.
+     *
+     * @param items Number of items
+     * @param exponent Skew; 0 is uniform and values near 1 are typical of real workloads
+     */
+    public ZipfianGenerator(int items, double exponent) {
+        if (items <= 0) {
+            throw new IllegalArgumentException("items must be positive");
+        }
+        cumulative = new double[items];
+        double sum = 0;
+        for (int i = 0; i < items; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < items; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    public int next() {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        int item = index >= 0 ? index : -index - 1;
+        return Math.min(item, cumulative.length - 1);
+    }
+}
@@ -2,6 +2,7 @@ package com.banking.application;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -13,8 +14,13 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableCaching
 @EnableScheduling
 public class BankingApplicationService {
+
+    // Startup steps kept for the startup report and the actuator startup endpoint
+    private static final int STARTUP_STEP_CAPACITY = 10000;
     
     public static void main(String[] args) {
-        SpringApplication.run(BankingApplicationService.class, args);
+        SpringApplication application = new SpringApplication(BankingApplicationService.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 }
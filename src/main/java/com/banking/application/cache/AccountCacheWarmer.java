@@ -0,0 +1,215 @@
+package com.banking.application.cache;
+
+import com.banking.application.exception.AccountNotFoundException;
+import com.banking.application.model.Account;
+import com.banking.application.service.impl.DatabaseTierClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Persists the hottest entries of the accounts cache to a local snapshot file and loads
+ * them on startup, so that a restarted instance does not send all of its first requests
+ * to the database tier.
+ * <p>
+ * Loaded entries are served for a short validity window while every one of them is
+ * fetched again from the database tier in the background with bounded concurrency.
+ * Entries that were not revalidated in time are evicted, and accounts that no longer
+ * exist are removed. Entries replaced in the meantime, e.g. evicted by a deposit and
+ * loaded again, are left alone.
+ */
+@Component
+public class AccountCacheWarmer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LogManager.getLogger(AccountCacheWarmer.class);
+
+    private static final String CACHE_NAME = "accounts";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DatabaseTierClient databaseTierClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cache.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.snapshot.path:cache/accounts.snapshot}")
+    private String path;
+
+    @Value("${cache.snapshot.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${cache.snapshot.max-age-ms:3600000}")
+    private long maxAgeMs;
+
+    @Value("${cache.snapshot.validity-ms:30000}")
+    private long validityMs;
+
+    @Value("${cache.snapshot.revalidate-concurrency:4}")
+    private int revalidateConcurrency;
+
+    /**
+     * Load the snapshot before the web server starts accepting requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = caffeineCache();
+        if (caffeine == null) {
+            logger.info("Cache snapshots need a Caffeine {} cache; not loading", CACHE_NAME);
+            return;
+        }
+        Map<Object, Object> cache = caffeine.asMap();
+        AccountSnapshotFile file = new AccountSnapshotFile(Paths.get(path));
+        AccountSnapshotFile.Snapshot snapshot;
+        try {
+            snapshot = file.read(maxEntries);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable cache snapshot {}: {}", file.getPath(), e.getMessage());
+            return;
+        }
+        if (snapshot == null) {
+            logger.info("No cache snapshot at {}", file.getPath());
+            return;
+        }
+        long ageMs = System.currentTimeMillis() - snapshot.getWrittenAtMillis();
+        if (ageMs > maxAgeMs) {
+            logger.info("Ignoring cache snapshot written {} s ago", ageMs / 1000);
+            return;
+        }
+
+        ConcurrentMap<String, Account> loaded = new ConcurrentHashMap<>();
+        for (Account account : snapshot.getAccounts()) {
+            if (cache.putIfAbsent(account.getAccountNumber(), account) == null) {
+                loaded.put(account.getAccountNumber(), account);
+            }
+        }
+        count("loaded", loaded.size());
+        logger.info("Loaded {} accounts from cache snapshot written {} s ago; revalidating",
+                loaded.size(), ageMs / 1000);
+        revalidate(cache, loaded);
+    }
+
+    /**
+     * Fetch every loaded account again and replace the snapshot copy, then evict
+     * whatever could not be revalidated within the validity window.
+     */
+    private void revalidate(Map<Object, Object> cache, ConcurrentMap<String, Account> pending) {
+        Flux.fromIterable(new ArrayList<>(pending.values()))
+                .flatMap(stale -> databaseTierClient.getAccount(stale.getAccountNumber())
+                        .doOnNext(fresh -> {
+                            if (pending.remove(stale.getAccountNumber(), stale)
+                                    && cache.replace(stale.getAccountNumber(), stale, fresh)) {
+                                count("revalidated", 1);
+                            }
+                        })
+                        .onErrorResume(AccountNotFoundException.class, e -> {
+                            if (pending.remove(stale.getAccountNumber(), stale)
+                                    && cache.remove(stale.getAccountNumber(), stale)) {
+                                count("removed", 1);
+                            }
+                            return Mono.empty();
+                        })
+                        .onErrorResume(e -> {
+                            logger.debug("Could not revalidate account {}: {}", stale.getAccountNumber(), 
+                                    e.getMessage());
+                            return Mono.empty();
+                        }), revalidateConcurrency)
+                .take(Duration.ofMillis(validityMs))
+                .doFinally(signal -> expire(cache, pending))
+                .subscribe();
+    }
+
+    private void expire(Map<Object, Object> cache, ConcurrentMap<String, Account> pending) {
+        int expired = 0;
+        for (Account stale : pending.values()) {
+            if (cache.remove(stale.getAccountNumber(), stale)) {
+                expired++;
+            }
+        }
+        pending.clear();
+        count("expired", expired);
+        logger.info("Cache snapshot revalidation finished; {} entries expired unrevalidated", expired);
+    }
+
+    /**
+     * Write the hottest cached accounts to the snapshot file.
+     */
+    @Scheduled(fixedDelayString = "${cache.snapshot.interval-ms:60000}",
+            initialDelayString = "${cache.snapshot.interval-ms:60000}")
+    public void writeSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = caffeineCache();
+        if (caffeine == null) {
+            return;
+        }
+        Map<Object, Object> hottest = caffeine.policy().eviction()
+                .map(eviction -> eviction.hottest(maxEntries))
+                .orElseGet(caffeine::asMap);
+
+        List<Account> accounts = new ArrayList<>(Math.min(hottest.size(), maxEntries));
+        for (Object value : hottest.values()) {
+            // Skip non-account entries such as the cached list of all accounts
+            if (value instanceof Account && accounts.size() < maxEntries) {
+                accounts.add((Account) value);
+            }
+        }
+        AccountSnapshotFile file = new AccountSnapshotFile(Paths.get(path));
+        try {
+            file.write(accounts);
+            logger.debug("Wrote {} accounts to cache snapshot {}", accounts.size(), file.getPath());
+        } catch (IOException e) {
+            logger.warn("Could not write cache snapshot {}: {}", file.getPath(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        writeSnapshot();
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeineCache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache)) {
+            return null;
+        }
+        return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+    }
+
+    private void count(String outcome, int entries) {
+        Counter.builder("cache.snapshot.entries")
+                .description("Accounts cache entries loaded from the snapshot, by what happened to them")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(entries);
+    }
+}
@@ -0,0 +1,131 @@
+package com.banking.application.cache;
+
+import com.banking.application.model.Account;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Compact binary file of cached accounts. The layout is a header (magic, version, time
+ * written, entry count) followed by one record per account. Files are written to a
+ * temporary file and moved into place, so a crash never leaves a partial snapshot.
+ */
+public class AccountSnapshotFile {
+
+    private static final int MAGIC = 0x42414353;
+    private static final short VERSION = 1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Path path;
+
+    public AccountSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Write accounts to the snapshot file, replacing any previous snapshot.
+     *
+     * @param accounts Accounts to write
+     * @throws IOException If the file cannot be written
+     */
+    public void write(Collection<Account> accounts) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(accounts.size());
+                for (Account account : accounts) {
+                    out.writeUTF(account.getAccountNumber());
+                    out.writeBoolean(account.getAccountHolderName() != null);
+                    if (account.getAccountHolderName() != null) {
+                        out.writeUTF(account.getAccountHolderName());
+                    }
+                    out.writeDouble(account.getBalance());
+                    out.writeLong(account.getCreationDate() != null ? account.getCreationDate().getTime() : NO_DATE);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Read the snapshot file.
+     *
+     * @param maxEntries Largest entry count accepted from the header
+     * @return The snapshot, or null if there is no snapshot file
+     * @throws IOException If the file cannot be read, is not a snapshot of this version
+     *                     or holds more than {@code maxEntries} entries
+     */
+    public Snapshot read(int maxEntries) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("Not an account snapshot of version " + VERSION + ": " + path);
+            }
+            long writtenAtMillis = in.readLong();
+            int count = in.readInt();
+            if (count < 0 || count > maxEntries) {
+                throw new IOException("Invalid entry count " + count + " in account snapshot " + path);
+            }
+            List<Account> accounts = new ArrayList<>(Math.min(count, INITIAL_CAPACITY));
+            for (int i = 0; i < count; i++) {
+                Account account = new Account();
+                account.setAccountNumber(in.readUTF());
+                if (in.readBoolean()) {
+                    account.setAccountHolderName(in.readUTF());
+                }
+                account.setBalance(in.readDouble());
+                long creationDate = in.readLong();
+                if (creationDate != NO_DATE) {
+                    account.setCreationDate(new Date(creationDate));
+                }
+                accounts.add(account);
+            }
+            return new Snapshot(writtenAtMillis, accounts);
+        }
+    }
+
+    /**
+     * Accounts read from a snapshot file, with the time the file was written.
+     */
+    public static class Snapshot {
+        private final long writtenAtMillis;
+        private final List<Account> accounts;
+
+        Snapshot(long writtenAtMillis, List<Account> accounts) {
+            this.writtenAtMillis = writtenAtMillis;
+            this.accounts = accounts;
+        }
+
+        public long getWrittenAtMillis() {
+            return writtenAtMillis;
+        }
+
+        public List<Account> getAccounts() {
+            return accounts;
+        }
+    }
+}
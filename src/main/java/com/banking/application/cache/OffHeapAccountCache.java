@@ -0,0 +1,114 @@
+package com.banking.application.cache;
+
+import com.banking.application.model.Account;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Spring cache backed by an {@link OffHeapAccountStore}. Account entries keyed by account
+ * number live off-heap; anything else, such as the cached list of all accounts or an
+ * account that does not fit the record layout, goes to a small on-heap fallback cache.
+ * <p>
+ * Every lookup decodes a new {@link Account}, so callers may modify what they get back.
+ * Concurrent misses on the same key may each run the value loader. Hits and misses are
+ * counted per lookup across both stores. Null values are not cached: putting one evicts
+ * the key, so the next lookup loads it again.
+ */
+public class OffHeapAccountCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final OffHeapAccountStore store;
+    private final Cache fallback;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public OffHeapAccountCache(String name, OffHeapAccountStore store, Cache fallback) {
+        super(false);
+        this.name = name;
+        this.store = store;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    public OffHeapAccountStore getStore() {
+        return store;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = null;
+        if (key instanceof String) {
+            value = store.get((String) key);
+        }
+        if (value == null) {
+            ValueWrapper wrapper = fallback.get(key);
+            value = wrapper != null ? wrapper.get() : null;
+        }
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        try {
+            T loaded = valueLoader.call();
+            put(key, loaded);
+            return loaded;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        if (key instanceof String && value instanceof Account
+                && key.equals(((Account) value).getAccountNumber()) && store.put((Account) value)) {
+            fallback.evict(key);
+            return;
+        }
+        fallback.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (key instanceof String) {
+            store.remove((String) key);
+        }
+        fallback.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+        fallback.clear();
+    }
+}
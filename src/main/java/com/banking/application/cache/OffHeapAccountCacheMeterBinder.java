@@ -0,0 +1,77 @@
+package com.banking.application.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Standard cache metrics (cache.gets, cache.puts, cache.evictions, cache.size) for an
+ * {@link OffHeapAccountCache}, plus its memory use: allocated direct memory, the fixed
+ * record size, and allocated bytes per stored entry.
+ */
+public class OffHeapAccountCacheMeterBinder extends CacheMeterBinder<OffHeapAccountCache> {
+
+    private final OffHeapAccountCache cache;
+    private final OffHeapAccountStore store;
+
+    public OffHeapAccountCacheMeterBinder(OffHeapAccountCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+        this.cache = cache;
+        this.store = cache.getStore();
+    }
+
+    @Override
+    protected Long size() {
+        return store.size();
+    }
+
+    @Override
+    protected long hitCount() {
+        return cache.hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        return cache.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return store.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return store.putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        Gauge.builder("cache.offheap.allocated", store, OffHeapAccountStore::allocatedBytes)
+                .tags(getTagsWithCacheName())
+                .description("Direct memory allocated for cache records")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("cache.offheap.capacity", store, OffHeapAccountStore::capacity)
+                .tags(getTagsWithCacheName())
+                .description("Maximum number of entries")
+                .register(registry);
+        Gauge.builder("cache.offheap.record.size", store, s -> OffHeapAccountStore.RECORD_SIZE)
+                .tags(getTagsWithCacheName())
+                .description("Size of one fixed-layout record")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("cache.offheap.entry.footprint", store,
+                        s -> s.size() == 0 ? Double.NaN : (double) s.allocatedBytes() / s.size())
+                .tags(getTagsWithCacheName())
+                .description("Allocated direct memory divided by the number of entries")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("cache.offheap.rejected", store, OffHeapAccountStore::rejectionCount)
+                .tags(getTagsWithCacheName())
+                .description("Accounts not stored off-heap because they do not fit the record layout")
+                .register(registry);
+    }
+}
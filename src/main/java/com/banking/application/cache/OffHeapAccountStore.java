@@ -0,0 +1,382 @@
+package com.banking.application.cache;
+
+import com.banking.application.model.Account;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Account store in direct memory with fixed-size records, for caching millions of accounts
+ * without putting them on the Java heap.
+ * <p>
+ * Each segment is an open-addressing hash table with linear probing whose slots are the
+ * records themselves, so there is no separate index. Tables are sized for a load factor
+ * of {@value #LOAD_FACTOR} at the maximum number of entries. Records are {@value #RECORD_SIZE}
+ * bytes: the account number (up to {@value #MAX_NUMBER_BYTES} UTF-8 bytes), holder name
+ * (up to {@value #MAX_NAME_BYTES} bytes), balance in minor units, creation time and
+ * write time as epoch milliseconds. Accounts that do not fit, such as a longer name or
+ * a balance with fractions of a cent, are not stored and stay cache misses.
+ * <p>
+ * Entries expire a fixed time after they were written. When a segment is full, expired
+ * entries are purged (at most once a second), and if that frees nothing the entry nearest
+ * the new key's home slot is evicted, which amounts to random replacement.
+ */
+public class OffHeapAccountStore {
+
+    public static final int RECORD_SIZE = 120;
+    public static final int MAX_NUMBER_BYTES = 24;
+    public static final int MAX_NAME_BYTES = 64;
+
+    private static final int STATE = 0;
+    private static final int NUMBER_LENGTH = 1;
+    private static final int NAME_LENGTH = 2;
+    private static final int HASH = 4;
+    private static final int BALANCE = 8;
+    private static final int CREATED = 16;
+    private static final int WRITTEN = 24;
+    private static final int NUMBER = 32;
+    private static final int NAME = NUMBER + MAX_NUMBER_BYTES;
+
+    private static final byte EMPTY = 0;
+    private static final byte USED = 1;
+    private static final int NULL_NAME = 0xFF;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final double MINOR_UNITS = 100.0;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final long PURGE_INTERVAL_MS = 1000;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final long expireAfterWriteMs;
+
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Constructor. All memory is allocated up front.
+     *
+     * @param maxEntries Maximum number of accounts
+     * @param segmentCount Number of independently locked segments, rounded up to a power of two
+     * @param expireAfterWrite How long an entry is served after it was written
+     */
+    public OffHeapAccountStore(int maxEntries, int segmentCount, Duration expireAfterWrite) {
+        int count = segmentCount <= 1 ? 1 : Integer.highestOneBit(segmentCount - 1) << 1;
+        int maxPerSegment = Math.max(1, (maxEntries + count - 1) / count);
+        int slotsPerSegment = (int) Math.ceil(maxPerSegment / LOAD_FACTOR) + 1;
+        if ((long) slotsPerSegment * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segments over 2 GB; use more segments for " + maxEntries + " entries");
+        }
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(slotsPerSegment, maxPerSegment);
+        }
+        this.segmentMask = count - 1;
+        this.expireAfterWriteMs = expireAfterWrite.toMillis();
+    }
+
+    /**
+     * Get a copy of a stored account.
+     *
+     * @param accountNumber Account number
+     * @return The account, or null if it is not stored or has expired
+     */
+    public Account get(String accountNumber) {
+        byte[] key = accountNumber.getBytes(StandardCharsets.UTF_8);
+        if (key.length > MAX_NUMBER_BYTES) {
+            return null;
+        }
+        int hash = hash(accountNumber);
+        return segmentFor(hash).get(hash, key, accountNumber, System.currentTimeMillis());
+    }
+
+    /**
+     * Store an account, replacing any stored copy.
+     *
+     * @param account The account
+     * @return Whether the account was stored; false if it does not fit the record layout
+     */
+    public boolean put(Account account) {
+        byte[] key = account.getAccountNumber().getBytes(StandardCharsets.UTF_8);
+        byte[] name = account.getAccountHolderName() != null
+                ? account.getAccountHolderName().getBytes(StandardCharsets.UTF_8) : null;
+        long minorUnits = Math.round(account.getBalance() * MINOR_UNITS);
+        if (key.length > MAX_NUMBER_BYTES || (name != null && name.length > MAX_NAME_BYTES)
+                || minorUnits / MINOR_UNITS != account.getBalance()) {
+            rejections.increment();
+            return false;
+        }
+        long created = account.getCreationDate() != null ? account.getCreationDate().getTime() : NO_DATE;
+        int hash = hash(account.getAccountNumber());
+        segmentFor(hash).put(hash, key, name, minorUnits, created, System.currentTimeMillis());
+        puts.increment();
+        return true;
+    }
+
+    /**
+     * Remove an account.
+     *
+     * @param accountNumber Account number
+     * @return Whether an entry was removed
+     */
+    public boolean remove(String accountNumber) {
+        byte[] key = accountNumber.getBytes(StandardCharsets.UTF_8);
+        if (key.length > MAX_NUMBER_BYTES) {
+            return false;
+        }
+        int hash = hash(accountNumber);
+        return segmentFor(hash).remove(hash, key);
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long capacity() {
+        return (long) segments.length * segments[0].maxSize;
+    }
+
+    /**
+     * Get the direct memory allocated for records, whether used or not.
+     *
+     * @return Allocated bytes
+     */
+    public long allocatedBytes() {
+        return (long) segments.length * segments[0].slots * RECORD_SIZE;
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long rejectionCount() {
+        return rejections.sum();
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash & segmentMask];
+    }
+
+    private static int hash(String accountNumber) {
+        // Spread the bits, since account numbers differ mostly in their last characters
+        int h = accountNumber.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * One hash table in its own direct buffer. All access is under the segment's lock.
+     */
+    private final class Segment {
+
+        private final ByteBuffer buffer;
+        private final int slots;
+        private final int maxSize;
+        private int size;
+        private long lastPurgeMs;
+
+        Segment(int slots, int maxSize) {
+            this.buffer = ByteBuffer.allocateDirect(slots * RECORD_SIZE);
+            this.slots = slots;
+            this.maxSize = maxSize;
+        }
+
+        synchronized Account get(int hash, byte[] key, String accountNumber, long now) {
+            int slot = find(hash, key);
+            if (slot < 0) {
+                return null;
+            }
+            int pos = slot * RECORD_SIZE;
+            if (now - buffer.getLong(pos + WRITTEN) >= expireAfterWriteMs) {
+                removeAt(slot);
+                evictions.increment();
+                return null;
+            }
+            Account account = new Account();
+            account.setAccountNumber(accountNumber);
+            int nameLength = buffer.get(pos + NAME_LENGTH) & 0xFF;
+            if (nameLength != NULL_NAME) {
+                account.setAccountHolderName(readString(pos + NAME, nameLength));
+            }
+            account.setBalance(buffer.getLong(pos + BALANCE) / MINOR_UNITS);
+            long created = buffer.getLong(pos + CREATED);
+            if (created != NO_DATE) {
+                account.setCreationDate(new Date(created));
+            }
+            return account;
+        }
+
+        synchronized void put(int hash, byte[] key, byte[] name, long minorUnits, long created, long now) {
+            int slot = find(hash, key);
+            if (slot < 0) {
+                if (size >= maxSize) {
+                    makeRoom(hash, now);
+                }
+                slot = home(hash);
+                while (buffer.get(slot * RECORD_SIZE + STATE) != EMPTY) {
+                    slot = next(slot);
+                }
+                size++;
+            }
+            int pos = slot * RECORD_SIZE;
+            buffer.put(pos + STATE, USED);
+            buffer.put(pos + NUMBER_LENGTH, (byte) key.length);
+            buffer.putInt(pos + HASH, hash);
+            for (int i = 0; i < key.length; i++) {
+                buffer.put(pos + NUMBER + i, key[i]);
+            }
+            if (name == null) {
+                buffer.put(pos + NAME_LENGTH, (byte) NULL_NAME);
+            } else {
+                buffer.put(pos + NAME_LENGTH, (byte) name.length);
+                for (int i = 0; i < name.length; i++) {
+                    buffer.put(pos + NAME + i, name[i]);
+                }
+            }
+            buffer.putLong(pos + BALANCE, minorUnits);
+            buffer.putLong(pos + CREATED, created);
+            buffer.putLong(pos + WRITTEN, now);
+        }
+
+        synchronized boolean remove(int hash, byte[] key) {
+            int slot = find(hash, key);
+            if (slot < 0) {
+                return false;
+            }
+            removeAt(slot);
+            return true;
+        }
+
+        synchronized void clear() {
+            for (int slot = 0; slot < slots; slot++) {
+                buffer.put(slot * RECORD_SIZE + STATE, EMPTY);
+            }
+            size = 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private int find(int hash, byte[] key) {
+            int slot = home(hash);
+            while (true) {
+                int pos = slot * RECORD_SIZE;
+                if (buffer.get(pos + STATE) == EMPTY) {
+                    return -1;
+                }
+                if (buffer.getInt(pos + HASH) == hash && keyEquals(pos, key)) {
+                    return slot;
+                }
+                slot = next(slot);
+            }
+        }
+
+        private boolean keyEquals(int pos, byte[] key) {
+            if (buffer.get(pos + NUMBER_LENGTH) != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (buffer.get(pos + NUMBER + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void makeRoom(int hash, long now) {
+            if (now - lastPurgeMs >= PURGE_INTERVAL_MS) {
+                purgeExpired(now);
+            }
+            if (size >= maxSize) {
+                int slot = home(hash);
+                while (buffer.get(slot * RECORD_SIZE + STATE) == EMPTY) {
+                    slot = next(slot);
+                }
+                removeAt(slot);
+                evictions.increment();
+            }
+        }
+
+        private void purgeExpired(long now) {
+            lastPurgeMs = now;
+            for (int slot = 0; slot < slots; slot++) {
+                int pos = slot * RECORD_SIZE;
+                if (buffer.get(pos + STATE) != EMPTY && now - buffer.getLong(pos + WRITTEN) >= expireAfterWriteMs) {
+                    removeAt(slot);
+                    evictions.increment();
+                    // Backward shift may have moved an unchecked entry into this slot
+                    slot--;
+                }
+            }
+        }
+
+        /**
+         * Empty a slot and shift back later entries of the same probe run, so that lookups
+         * never need tombstones.
+         */
+        private void removeAt(int slot) {
+            int hole = slot;
+            int next = slot;
+            while (true) {
+                next = next(next);
+                int pos = next * RECORD_SIZE;
+                if (buffer.get(pos + STATE) == EMPTY) {
+                    break;
+                }
+                int home = home(buffer.getInt(pos + HASH));
+                boolean inPlace = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+                if (!inPlace) {
+                    copyRecord(next, hole);
+                    hole = next;
+                }
+            }
+            buffer.put(hole * RECORD_SIZE + STATE, EMPTY);
+            size--;
+        }
+
+        /**
+         * Map a hash onto a slot with a multiply and shift, so the table size need not be a
+         * power of two. This uses the high bits; the segment was chosen by the low bits.
+         */
+        private int home(int hash) {
+            return (int) (((hash & 0xFFFFFFFFL) * slots) >>> 32);
+        }
+
+        private int next(int slot) {
+            return slot + 1 == slots ? 0 : slot + 1;
+        }
+
+        private void copyRecord(int from, int to) {
+            int src = from * RECORD_SIZE;
+            int dst = to * RECORD_SIZE;
+            for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+                buffer.putLong(dst + i, buffer.getLong(src + i));
+            }
+        }
+
+        private String readString(int pos, int length) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(pos + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.banking.application.config;
+
+import com.banking.application.cache.OffHeapAccountCache;
+import com.banking.application.cache.OffHeapAccountCacheMeterBinder;
+import com.banking.application.cache.OffHeapAccountStore;
+import com.banking.application.trace.TracingCacheResolver;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurerSupport;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Configuration class for caching. The CacheManager is auto-configured from the
+ * spring.cache properties unless the off-heap account cache is enabled; this also
+ * changes how {@code @Cacheable} resolves caches.
+ */
+@Configuration
+public class CacheConfig extends CachingConfigurerSupport {
+
+    private static final String ACCOUNTS_CACHE = "accounts";
+
+    @Autowired
+    private ObjectProvider<CacheManager> cacheManager;
+
+    @Override
+    public CacheResolver cacheResolver() {
+        return new TracingCacheResolver(cacheManager);
+    }
+
+    /**
+     * Accounts cache in direct memory, replacing the auto-configured Caffeine cache.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cache.off-heap.enabled", havingValue = "true")
+    public CacheManager offHeapCacheManager(
+            @Value("${cache.off-heap.max-entries:1000000}") int maxEntries,
+            @Value("${cache.off-heap.segments:64}") int segments,
+            @Value("${cache.off-heap.expire-after-write-ms:300000}") long expireAfterWriteMs) {
+        Duration expireAfterWrite = Duration.ofMillis(expireAfterWriteMs);
+        OffHeapAccountStore store = new OffHeapAccountStore(maxEntries, segments, expireAfterWrite);
+        CaffeineCache fallback = new CaffeineCache(ACCOUNTS_CACHE, Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(expireAfterWrite)
+                .build(), false);
+
+        SimpleCacheManager manager = new SimpleCacheManager();
+        manager.setCaches(Collections.singletonList(new OffHeapAccountCache(ACCOUNTS_CACHE, store, fallback)));
+        return manager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.off-heap.enabled", havingValue = "true")
+    public CacheMeterBinderProvider<OffHeapAccountCache> offHeapCacheMeterBinderProvider() {
+        return OffHeapAccountCacheMeterBinder::new;
+    }
+}
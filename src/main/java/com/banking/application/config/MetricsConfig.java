@@ -0,0 +1,20 @@
+package com.banking.application.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for application metrics.
+ * Inbound requests, database tier calls and cache statistics are instrumented by
+ * Spring Boot; this adds support for {@code @Timed} on service methods.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -2,9 +2,17 @@ package com.banking.application.config;
 
 import com.banking.application.service.rmi.AccountRegistry;
 import com.banking.application.service.rmi.AccountRegistryImpl;
+import com.banking.application.service.rmi.TunableRmiSocketFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.remoting.rmi.RmiServiceExporter;
 
 /**
@@ -14,19 +22,91 @@ import org.springframework.remoting.rmi.RmiServiceExporter;
 @Configuration
 public class RmiServerConfig {
 
+    private static final Logger logger = LogManager.getLogger(RmiServerConfig.class);
+
+    private static final String EXPORTER_BEAN_NAME = "accountRegistryService";
+
     @Value("${rmi.port:1099}")
     private int rmiPort;
 
+    @Value("${rmi.service.port:0}")
+    private int servicePort;
+
     @Value("${rmi.account.prefix:Account/}")
     private String accountPrefix;
 
+    @Value("${rmi.dgc.lease-ms:600000}")
+    private long dgcLeaseMs;
+
+    @Value("${rmi.transport.max-connection-threads:256}")
+    private int maxConnectionThreads;
+
+    @Value("${rmi.transport.thread-keep-alive-ms:60000}")
+    private long threadKeepAliveMs;
+
+    @Value("${rmi.transport.connection-timeout-ms:15000}")
+    private long connectionTimeoutMs;
+
     @Bean
-    public RmiServiceExporter accountRegistryService(AccountRegistryImpl accountRegistry) {
+    @ConditionalOnProperty(name = "rmi.socket-factory.enabled", havingValue = "true")
+    public TunableRmiSocketFactory rmiSocketFactory(
+            @Value("${rmi.socket-factory.compress:false}") boolean compress,
+            @Value("${rmi.socket-factory.tcp-no-delay:true}") boolean tcpNoDelay,
+            @Value("${rmi.socket-factory.socket-buffer-size:0}") int socketBufferSize,
+            @Value("${rmi.socket-factory.stream-buffer-size:8192}") int streamBufferSize) {
+        return new TunableRmiSocketFactory(compress, tcpNoDelay, socketBufferSize, streamBufferSize);
+    }
+
+    @Bean(EXPORTER_BEAN_NAME)
+    public RmiServiceExporter accountRegistryService(AccountRegistryImpl accountRegistry,
+                                                     ObjectProvider<TunableRmiSocketFactory> socketFactory) {
+        // The RMI runtime reads these once when it starts, so they must be set before the first export
+        setRuntimeProperty("java.rmi.dgc.leaseValue", dgcLeaseMs);
+        setRuntimeProperty("sun.rmi.transport.tcp.maxConnectionThreads", maxConnectionThreads);
+        setRuntimeProperty("sun.rmi.transport.tcp.threadKeepAliveTime", threadKeepAliveMs);
+        setRuntimeProperty("sun.rmi.transport.connectionTimeout", connectionTimeoutMs);
+
         RmiServiceExporter exporter = new RmiServiceExporter();
         exporter.setServiceName("AccountRegistry");
         exporter.setService(accountRegistry);
         exporter.setServiceInterface(AccountRegistry.class); // Fixed: Using the interface instead of implementation
         exporter.setRegistryPort(rmiPort);
+        exporter.setServicePort(servicePort);
+
+        TunableRmiSocketFactory factory = socketFactory.getIfAvailable();
+        if (factory != null) {
+            exporter.setClientSocketFactory(factory);
+            exporter.setServerSocketFactory(factory);
+        }
         return exporter;
     }
-}
\ No newline at end of file
+
+    /**
+     * Export the registry once the application is ready, if that has not happened yet.
+     * With lazy initialization (the faststart profile) nothing else creates the exporter,
+     * so the export runs here in the background while HTTP requests are already served.
+     */
+    @EventListener
+    public void exportWhenReady(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        if (context.getBeanFactory().containsSingleton(EXPORTER_BEAN_NAME)) {
+            return;
+        }
+        Thread exportThread = new Thread(() -> {
+            try {
+                context.getBean(EXPORTER_BEAN_NAME, RmiServiceExporter.class);
+                logger.info("Deferred RMI export of AccountRegistry on port {} completed", rmiPort);
+            } catch (RuntimeException e) {
+                logger.error("Deferred RMI export failed: {}", e.getMessage(), e);
+            }
+        }, "rmi-deferred-export");
+        exportThread.start();
+    }
+
+    private static void setRuntimeProperty(String name, long value) {
+        // Explicit -D settings on the command line win
+        if (System.getProperty(name) == null) {
+            System.setProperty(name, String.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.banking.application.config;
+
+import com.banking.application.reconciliation.BalanceReconciler;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for scheduled jobs.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    /**
+     * With lazy initialization (the faststart profile) a bean's {@code @Scheduled}
+     * methods are only registered once something uses the bean, so scheduled jobs
+     * that nothing else references are created at startup.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledJobsEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(BalanceReconciler.class);
+    }
+}
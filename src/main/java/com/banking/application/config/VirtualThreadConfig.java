@@ -0,0 +1,104 @@
+package com.banking.application.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncLoggerConfig;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Configuration class for running servlet requests on virtual threads, enabled with
+ * {@code threads.virtual.enabled=true} on Java 21 or later.
+ * <p>
+ * Tomcat hands every request to a new virtual thread instead of its bounded worker
+ * pool, and async requests (imports and ledger exports) run on virtual threads too.
+ * The service layer blocks on database tier calls as before; a blocked virtual thread
+ * parks and frees its carrier, so concurrency is bounded by
+ * {@code server.tomcat.max-connections} and {@code database.tier.max-connections}
+ * rather than by {@code server.tomcat.threads.max}.
+ * <p>
+ * RMI calls still run on the RMI runtime's own connection threads, which cannot be
+ * replaced, and remain bounded by {@code rmi.transport.max-connection-threads}.
+ * <p>
+ * Log4j's console appender writes under a monitor, and a virtual thread blocked on a
+ * monitor pins its carrier. The mode therefore requires asynchronous logging
+ * ({@code log4j2-async.xml}), which leaves the writing to Log4j's background thread.
+ */
+@Configuration
+@ConditionalOnProperty(name = "threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    private static final Logger logger = LogManager.getLogger(VirtualThreadConfig.class);
+
+    /**
+     * Fails startup if any logger with appenders writes on the calling thread.
+     */
+    @PostConstruct
+    public void requireAsynchronousLogging() {
+        if (!logsAsynchronously()) {
+            throw new IllegalStateException("threads.virtual.enabled=true requires asynchronous logging; "
+                    + "start with --logging.config=classpath:log4j2-async.xml");
+        }
+    }
+
+    /**
+     * Fails startup on Java versions without virtual threads rather than silently
+     * running on platform threads.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return VirtualThreads.newThreadPerTaskExecutor("http-virtual-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> {
+            protocolHandler.setExecutor(virtualThreadExecutor);
+            logger.info("Serving requests on virtual threads");
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreadExecutor()));
+    }
+
+    /**
+     * Check whether every logger with appenders hands its events to Log4j's background
+     * thread. Loggers without appenders of their own, such as those Boot adds for
+     * {@code logging.level.*}, pass events on to their parent and are not checked.
+     */
+    private static boolean logsAsynchronously() {
+        org.apache.logging.log4j.spi.LoggerContext context = LogManager.getContext(false);
+        if (context instanceof AsyncLoggerContext) {
+            return true;
+        }
+        if (!(context instanceof LoggerContext)) {
+            return false;
+        }
+        LoggerContext loggerContext = (LoggerContext) context;
+        List<LoggerConfig> loggerConfigs = new ArrayList<>(loggerContext.getConfiguration().getLoggers().values());
+        loggerConfigs.add(loggerContext.getConfiguration().getRootLogger());
+        for (LoggerConfig loggerConfig : loggerConfigs) {
+            if (!loggerConfig.getAppenders().isEmpty() && !(loggerConfig instanceof AsyncLoggerConfig)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+package com.banking.application.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads (Java 21 and later) from code compiled for Java 11.
+ * <p>
+ * The JDK methods are looked up reflectively so that the same build runs on both
+ * baselines; {@link #isSupported()} tells whether the running JVM has them.
+ */
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = method(Thread.class, "ofVirtual");
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR = method(Executors.class, "newThreadPerTaskExecutor",
+            ThreadFactory.class);
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Check whether the running JVM supports virtual threads.
+     *
+     * @return true on Java 21 and later
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Create an executor that runs every task on a new virtual thread.
+     *
+     * @param namePrefix Thread name prefix; threads are numbered from 0
+     * @return The executor
+     * @throws IllegalStateException If the running JVM does not support virtual threads
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later, but this is Java "
+                    + System.getProperty("java.specification.version"));
+        }
+        try {
+            // Thread.ofVirtual().name(namePrefix, 0).factory(), through the public Builder interface
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create virtual thread executor", e);
+        }
+    }
+
+    private static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
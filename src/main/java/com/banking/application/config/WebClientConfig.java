@@ -1,11 +1,18 @@
 package com.banking.application.config;
 
+import com.banking.application.resilience.DeadlineExchangeFilter;
+import com.banking.application.trace.TracingExchangeFilter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 /**
  * Configuration class for WebClient used to make HTTP requests to the database tier.
@@ -16,11 +23,44 @@ public class WebClientConfig {
     @Value("${database.tier.url}")
     private String databaseTierUrl;
 
+    @Value("${database.tier.max-connections:500}")
+    private int maxConnections;
+
+    @Value("${database.tier.max-pending-acquires:10000}")
+    private int maxPendingAcquires;
+
+    @Value("${database.tier.pending-acquire-timeout-ms:45000}")
+    private long pendingAcquireTimeoutMs;
+
+    /**
+     * Connections to the database tier. Calls beyond the connection limit wait for a
+     * connection; Reactor Netty lets only twice the connection limit wait by default,
+     * which thread-per-request never reaches but virtual threads easily do, so the queue
+     * length is configured separately.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider databaseTierConnectionProvider() {
+        return ConnectionProvider.builder("database-tier")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .build();
+    }
+
+    /**
+     * Built from Spring Boot's shared builder so that every database tier call is
+     * recorded as http.client.requests, tagged with its URI template.
+     */
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder()
+    public WebClient webClient(WebClient.Builder webClientBuilder, ConnectionProvider databaseTierConnectionProvider,
+                               TracingExchangeFilter tracingExchangeFilter,
+                               DeadlineExchangeFilter deadlineExchangeFilter) {
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(databaseTierConnectionProvider)))
                 .baseUrl(databaseTierUrl)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .filter(tracingExchangeFilter)
+                .filter(deadlineExchangeFilter)
                 .build();
     }
 }
@@ -0,0 +1,27 @@
+package com.banking.application.config;
+
+import com.banking.application.resilience.DeadlineInterceptor;
+import com.banking.application.trace.RequestTraceInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class for Spring MVC request handling.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private RequestTraceInterceptor requestTraceInterceptor;
+
+    @Autowired
+    private DeadlineInterceptor deadlineInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestTraceInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(deadlineInterceptor).addPathPatterns("/api/**");
+    }
+}
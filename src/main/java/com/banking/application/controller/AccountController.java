@@ -1,18 +1,33 @@
 package com.banking.application.controller;
 
+import com.banking.application.dto.AccountSearchPage;
+import com.banking.application.dto.StatementSummary;
 import com.banking.application.exception.InsufficientFundsException;
+import com.banking.application.idempotency.IdempotencyStore;
+import com.banking.application.importer.AccountImporter;
+import com.banking.application.importer.ImportFormat;
 import com.banking.application.model.Account;
 import com.banking.application.model.Transaction;
 import com.banking.application.service.AccountService;
+import com.banking.application.statement.StatementGranularity;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -27,6 +42,12 @@ public class AccountController {
     @Autowired
     private AccountService accountService;
     
+    @Autowired
+    private AccountImporter accountImporter;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    
     /**
      * Create a new account.
      */
@@ -42,6 +63,22 @@ public class AccountController {
         return ResponseEntity.status(HttpStatus.CREATED).body(account);
     }
     
+    /**
+     * Import accounts from a CSV or NDJSON body, streaming back errors and progress as NDJSON.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"}, 
+            produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importAccounts(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        logger.info("REST request to import accounts from {}", format);
+        
+        InputStream body = request.getInputStream();
+        StreamingResponseBody response = out -> accountImporter.importAccounts(body, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(response);
+    }
+    
     /**
      * Get all accounts.
      */
@@ -53,6 +90,29 @@ public class AccountController {
         return ResponseEntity.ok(accounts);
     }
     
+    /**
+     * Search accounts by holder name and/or account number prefix.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<AccountSearchPage> searchAccounts(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String number,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        boolean hasName = name != null && !name.trim().isEmpty();
+        boolean hasNumber = number != null && !number.trim().isEmpty();
+        if ((!hasName && !hasNumber) || page < 0 || size <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        logger.debug("REST request to search accounts: name={}, number={}", name, number);
+        
+        AccountSearchPage result = accountService.searchAccounts(
+                hasName ? name : null, hasNumber ? number : null, page, size);
+        return ResponseEntity.ok(result);
+    }
+    
     /**
      * Get an account by account number.
      */
@@ -65,11 +125,13 @@ public class AccountController {
     }
     
     /**
-     * Deposit money into an account.
+     * Deposit money into an account. Requests repeating an earlier
+     * {@code Idempotency-Key} get the earlier response instead of depositing again.
      */
     @PostMapping("/{accountNumber}/deposit")
     public ResponseEntity<Account> deposit(
             @PathVariable String accountNumber,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody Map<String, Double> depositData) {
         
         Double amount = depositData.get("amount");
@@ -79,16 +141,20 @@ public class AccountController {
         
         logger.info("REST request to deposit {} to account {}", amount, accountNumber);
         
-        Account account = accountService.deposit(accountNumber, amount);
-        return ResponseEntity.ok(account);
+        return idempotencyStore.execute(idempotencyKey, "deposit|" + accountNumber + "|" + amount, () -> {
+            Account account = accountService.deposit(accountNumber, amount);
+            return ResponseEntity.ok(account);
+        });
     }
     
     /**
-     * Withdraw money from an account.
+     * Withdraw money from an account. Requests repeating an earlier
+     * {@code Idempotency-Key} get the earlier response instead of withdrawing again.
      */
     @PostMapping("/{accountNumber}/withdraw")
     public ResponseEntity<?> withdraw(
             @PathVariable String accountNumber,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody Map<String, Double> withdrawData) {
         
         Double amount = withdrawData.get("amount");
@@ -98,24 +164,28 @@ public class AccountController {
         
         logger.info("REST request to withdraw {} from account {}", amount, accountNumber);
         
-        try {
-            Account account = accountService.withdraw(accountNumber, amount);
-            return ResponseEntity.ok(account);
-        } catch (InsufficientFundsException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("error", "Insufficient funds");
-            response.put("requestedAmount", e.getRequestedAmount());
-            response.put("availableBalance", e.getAvailableBalance());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-        }
+        return idempotencyStore.<Object>execute(idempotencyKey, "withdraw|" + accountNumber + "|" + amount, () -> {
+            try {
+                Account account = accountService.withdraw(accountNumber, amount);
+                return ResponseEntity.ok(account);
+            } catch (InsufficientFundsException e) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("error", "Insufficient funds");
+                response.put("requestedAmount", e.getRequestedAmount());
+                response.put("availableBalance", e.getAvailableBalance());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            }
+        });
     }
     
     /**
-     * Transfer money between accounts.
+     * Transfer money between accounts. Requests repeating an earlier
+     * {@code Idempotency-Key} get the earlier response instead of transferring again.
      */
     @PostMapping("/{sourceAccountNumber}/transfer")
     public ResponseEntity<?> transfer(
             @PathVariable String sourceAccountNumber,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody Map<String, Object> transferData) {
         
         String destinationAccountNumber = (String) transferData.get("destinationAccountNumber");
@@ -128,23 +198,26 @@ public class AccountController {
         logger.info("REST request to transfer {} from account {} to account {}", 
                 amount, sourceAccountNumber, destinationAccountNumber);
         
-        try {
-            boolean success = accountService.transfer(sourceAccountNumber, destinationAccountNumber, amount);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", success);
-            response.put("sourceAccountNumber", sourceAccountNumber);
-            response.put("destinationAccountNumber", destinationAccountNumber);
-            response.put("amount", amount);
-            
-            return ResponseEntity.ok(response);
-        } catch (InsufficientFundsException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("error", "Insufficient funds");
-            response.put("requestedAmount", e.getRequestedAmount());
-            response.put("availableBalance", e.getAvailableBalance());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-        }
+        String fingerprint = "transfer|" + sourceAccountNumber + "|" + destinationAccountNumber + "|" + amount;
+        return idempotencyStore.<Object>execute(idempotencyKey, fingerprint, () -> {
+            try {
+                boolean success = accountService.transfer(sourceAccountNumber, destinationAccountNumber, amount);
+                
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", success);
+                response.put("sourceAccountNumber", sourceAccountNumber);
+                response.put("destinationAccountNumber", destinationAccountNumber);
+                response.put("amount", amount);
+                
+                return ResponseEntity.ok(response);
+            } catch (InsufficientFundsException e) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("error", "Insufficient funds");
+                response.put("requestedAmount", e.getRequestedAmount());
+                response.put("availableBalance", e.getAvailableBalance());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            }
+        });
     }
     
     /**
@@ -157,4 +230,35 @@ public class AccountController {
         List<Transaction> transactions = accountService.getTransactionHistory(accountNumber);
         return ResponseEntity.ok(transactions);
     }
+    
+    /**
+     * Get transaction totals for an account per day or month.
+     */
+    @GetMapping("/{accountNumber}/statement")
+    public ResponseEntity<StatementSummary> getStatementSummary(
+            @PathVariable String accountNumber,
+            @RequestParam(defaultValue = "month") String granularity,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        
+        StatementGranularity periodGranularity;
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            periodGranularity = StatementGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+            fromDate = from != null ? LocalDate.parse(from) : null;
+            toDate = to != null ? LocalDate.parse(to) : null;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        logger.info("REST request to get {} statement for account {}", periodGranularity, accountNumber);
+        
+        StatementSummary summary = accountService.getStatementSummary(
+                accountNumber, periodGranularity, fromDate, toDate);
+        return ResponseEntity.ok(summary);
+    }
 }
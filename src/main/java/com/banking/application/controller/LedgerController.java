@@ -0,0 +1,87 @@
+package com.banking.application.controller;
+
+import com.banking.application.ledger.LedgerExportPlan;
+import com.banking.application.ledger.LedgerExporter;
+import com.banking.application.ledger.LedgerFormat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * REST controller for ledger exports.
+ */
+@RestController
+@RequestMapping("/api/ledger")
+public class LedgerController {
+    
+    private static final Logger logger = LogManager.getLogger(LedgerController.class);
+    
+    /**
+     * Response header holding the cursor of the next page, when the export is paged.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    @Autowired
+    private LedgerExporter ledgerExporter;
+    
+    /**
+     * Export the transactions of all accounts in a time window as NDJSON or CSV.
+     * The window bounds are ISO instants or dates (midnight UTC); from is inclusive,
+     * to is exclusive. The cursor is the account number to start at.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLedger(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int accounts) {
+        
+        LedgerFormat ledgerFormat;
+        Instant fromInstant;
+        Instant toInstant;
+        try {
+            ledgerFormat = LedgerFormat.fromName(format);
+            fromInstant = parseInstant(from);
+            toInstant = parseInstant(to);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (accounts < 0 || (fromInstant != null && toInstant != null && !fromInstant.isBefore(toInstant))) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        logger.info("REST request to export the ledger from {} to {} as {}, cursor {}", 
+                fromInstant, toInstant, ledgerFormat, cursor);
+        
+        LedgerExportPlan plan = ledgerExporter.plan(cursor, accounts);
+        StreamingResponseBody body = out -> ledgerExporter.export(plan, fromInstant, toInstant, ledgerFormat, out);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ledgerFormat.getMediaType()));
+        if (plan.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, plan.getNextCursor());
+        }
+        return response.body(body);
+    }
+    
+    private static Instant parseInstant(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.length() == 10 
+                ? LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant() 
+                : Instant.parse(value);
+    }
+}
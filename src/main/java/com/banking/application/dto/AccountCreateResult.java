@@ -0,0 +1,65 @@
+package com.banking.application.dto;
+
+import com.banking.application.model.Account;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of creating one account in a batch. A failed create does not stop the
+ * creates after it.
+ */
+public class AccountCreateResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private final Account account;
+    private final boolean success;
+    private final String error;
+    
+    private AccountCreateResult(Account account, boolean success, String error) {
+        this.account = account;
+        this.success = success;
+        this.error = error;
+    }
+    
+    /**
+     * Create a successful result.
+     * 
+     * @param account The account as created by the database tier
+     * @return The result
+     */
+    public static AccountCreateResult success(Account account) {
+        return new AccountCreateResult(account, true, null);
+    }
+    
+    /**
+     * Create a failed result.
+     * 
+     * @param account The account that could not be created
+     * @param error Why the create failed
+     * @return The result
+     */
+    public static AccountCreateResult failure(Account account, String error) {
+        return new AccountCreateResult(account, false, error);
+    }
+    
+    public Account getAccount() {
+        return account;
+    }
+    
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    @Override
+    public String toString() {
+        return "AccountCreateResult{" +
+                "account=" + account +
+                ", success=" + success +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+package com.banking.application.dto;
+
+import java.io.Serializable;
+
+/**
+ * A single deposit, withdrawal or transfer submitted as part of a batch.
+ */
+public class AccountOperation implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    public enum Type {
+        DEPOSIT, WITHDRAW, TRANSFER
+    }
+    
+    private final Type type;
+    private final String accountNumber;
+    private final String destinationAccountNumber;
+    private final double amount;
+    
+    public AccountOperation(Type type, String accountNumber, String destinationAccountNumber, double amount) {
+        this.type = type;
+        this.accountNumber = accountNumber;
+        this.destinationAccountNumber = destinationAccountNumber;
+        this.amount = amount;
+    }
+    
+    public static AccountOperation deposit(String accountNumber, double amount) {
+        return new AccountOperation(Type.DEPOSIT, accountNumber, null, amount);
+    }
+    
+    public static AccountOperation withdraw(String accountNumber, double amount) {
+        return new AccountOperation(Type.WITHDRAW, accountNumber, null, amount);
+    }
+    
+    public static AccountOperation transfer(String sourceAccountNumber, String destinationAccountNumber, 
+                                            double amount) {
+        return new AccountOperation(Type.TRANSFER, sourceAccountNumber, destinationAccountNumber, amount);
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+    
+    public String getDestinationAccountNumber() {
+        return destinationAccountNumber;
+    }
+    
+    public double getAmount() {
+        return amount;
+    }
+    
+    @Override
+    public String toString() {
+        return "AccountOperation{" +
+                "type=" + type +
+                ", accountNumber='" + accountNumber + '\'' +
+                ", destinationAccountNumber='" + destinationAccountNumber + '\'' +
+                ", amount=" + amount +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package com.banking.application.dto;
+
+import java.util.List;
+
+/**
+ * One page of account search results.
+ */
+public class AccountSearchPage {
+    
+    private final List<AccountSnapshot> accounts;
+    private final int page;
+    private final int size;
+    private final boolean hasMore;
+    
+    public AccountSearchPage(List<AccountSnapshot> accounts, int page, int size, boolean hasMore) {
+        this.accounts = accounts;
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+    
+    public List<AccountSnapshot> getAccounts() {
+        return accounts;
+    }
+    
+    public int getPage() {
+        return page;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    /**
+     * Whether there is at least one more page.
+     * 
+     * @return True if more results follow this page
+     */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,63 @@
+package com.banking.application.dto;
+
+import com.banking.application.model.Account;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Serializable point-in-time copy of an account, returned by value to RMI clients
+ * so that reading its fields does not cost a remote call each.
+ */
+public class AccountSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private final String accountNumber;
+    private final String accountHolderName;
+    private final double balance;
+    private final Date creationDate;
+    
+    public AccountSnapshot(String accountNumber, String accountHolderName, double balance, Date creationDate) {
+        this.accountNumber = accountNumber;
+        this.accountHolderName = accountHolderName;
+        this.balance = balance;
+        this.creationDate = creationDate;
+    }
+    
+    /**
+     * Create a snapshot of an account.
+     * 
+     * @param account The account
+     * @return The snapshot
+     */
+    public static AccountSnapshot of(Account account) {
+        return new AccountSnapshot(account.getAccountNumber(), account.getAccountHolderName(),
+                account.getBalance(), account.getCreationDate());
+    }
+    
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+    
+    public String getAccountHolderName() {
+        return accountHolderName;
+    }
+    
+    public double getBalance() {
+        return balance;
+    }
+    
+    public Date getCreationDate() {
+        return creationDate;
+    }
+    
+    @Override
+    public String toString() {
+        return "AccountSnapshot{" +
+                "accountNumber='" + accountNumber + '\'' +
+                ", accountHolderName='" + accountHolderName + '\'' +
+                ", balance=" + balance +
+                ", creationDate=" + creationDate +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.banking.application.dto;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of one operation in a batch. A failed operation does not stop the
+ * operations after it.
+ */
+public class OperationResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private final AccountOperation operation;
+    private final boolean success;
+    private final double balance;
+    private final String error;
+    
+    private OperationResult(AccountOperation operation, boolean success, double balance, String error) {
+        this.operation = operation;
+        this.success = success;
+        this.balance = balance;
+        this.error = error;
+    }
+    
+    /**
+     * Create a successful result.
+     * 
+     * @param operation The operation
+     * @param balance The balance of the operation's account afterwards
+     * @return The result
+     */
+    public static OperationResult success(AccountOperation operation, double balance) {
+        return new OperationResult(operation, true, balance, null);
+    }
+    
+    /**
+     * Create a failed result.
+     * 
+     * @param operation The operation
+     * @param error Why the operation failed
+     * @return The result
+     */
+    public static OperationResult failure(AccountOperation operation, String error) {
+        return new OperationResult(operation, false, Double.NaN, error);
+    }
+    
+    public AccountOperation getOperation() {
+        return operation;
+    }
+    
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    /**
+     * Get the balance of the operation's account after it ran, or NaN if it
+     * failed or the balance is not known (transfers).
+     * 
+     * @return The resulting balance
+     */
+    public double getBalance() {
+        return balance;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    @Override
+    public String toString() {
+        return "OperationResult{" +
+                "operation=" + operation +
+                ", success=" + success +
+                ", balance=" + balance +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package com.banking.application.dto;
+
+import java.util.Map;
+
+/**
+ * Transaction totals of one account for one day or month.
+ */
+public class StatementPeriod {
+    
+    private final String period;
+    private final long transactionCount;
+    private final double minBalance;
+    private final double maxBalance;
+    private final Map<String, TransactionTotals> byType;
+    
+    public StatementPeriod(String period, long transactionCount, double minBalance, double maxBalance,
+                           Map<String, TransactionTotals> byType) {
+        this.period = period;
+        this.transactionCount = transactionCount;
+        this.minBalance = minBalance;
+        this.maxBalance = maxBalance;
+        this.byType = byType;
+    }
+    
+    /**
+     * Get the period, as an ISO date for days ("2024-03-15") or year and month for months ("2024-03").
+     * 
+     * @return The period
+     */
+    public String getPeriod() {
+        return period;
+    }
+    
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+    
+    public double getMinBalance() {
+        return minBalance;
+    }
+    
+    public double getMaxBalance() {
+        return maxBalance;
+    }
+    
+    /**
+     * Get the totals per transaction type, keyed by type name. Types without
+     * transactions in the period are left out.
+     * 
+     * @return Totals by transaction type
+     */
+    public Map<String, TransactionTotals> getByType() {
+        return byType;
+    }
+}
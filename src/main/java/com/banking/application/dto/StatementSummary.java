@@ -0,0 +1,31 @@
+package com.banking.application.dto;
+
+import java.util.List;
+
+/**
+ * Statement summary of an account: transaction totals per day or month, oldest first.
+ */
+public class StatementSummary {
+    
+    private final String accountNumber;
+    private final String granularity;
+    private final List<StatementPeriod> periods;
+    
+    public StatementSummary(String accountNumber, String granularity, List<StatementPeriod> periods) {
+        this.accountNumber = accountNumber;
+        this.granularity = granularity;
+        this.periods = periods;
+    }
+    
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+    
+    public String getGranularity() {
+        return granularity;
+    }
+    
+    public List<StatementPeriod> getPeriods() {
+        return periods;
+    }
+}
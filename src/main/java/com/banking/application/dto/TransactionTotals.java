@@ -0,0 +1,45 @@
+package com.banking.application.dto;
+
+/**
+ * Count, total amount and balance range of one transaction type within a statement period.
+ */
+public class TransactionTotals {
+    
+    private final long count;
+    private final double total;
+    private final double minBalance;
+    private final double maxBalance;
+    
+    public TransactionTotals(long count, double total, double minBalance, double maxBalance) {
+        this.count = count;
+        this.total = total;
+        this.minBalance = minBalance;
+        this.maxBalance = maxBalance;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getTotal() {
+        return total;
+    }
+    
+    /**
+     * Get the lowest balance left by a transaction of this type in the period.
+     * 
+     * @return The minimum resulting balance
+     */
+    public double getMinBalance() {
+        return minBalance;
+    }
+    
+    /**
+     * Get the highest balance left by a transaction of this type in the period.
+     * 
+     * @return The maximum resulting balance
+     */
+    public double getMaxBalance() {
+        return maxBalance;
+    }
+}
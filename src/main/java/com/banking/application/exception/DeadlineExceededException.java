@@ -0,0 +1,19 @@
+package com.banking.application.exception;
+
+/**
+ * Exception thrown when a database tier call does not complete within the request's
+ * deadline or the per-call timeout.
+ */
+public class DeadlineExceededException extends RuntimeException {
+    
+    private final String operation;
+    
+    public DeadlineExceededException(String operation, String message) {
+        super(message);
+        this.operation = operation;
+    }
+    
+    public String getOperation() {
+        return operation;
+    }
+}
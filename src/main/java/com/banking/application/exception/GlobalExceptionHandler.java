@@ -32,6 +32,56 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    @ExceptionHandler(SearchIndexUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleSearchIndexUnavailableException(
+            SearchIndexUnavailableException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Search unavailable");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
+    @ExceptionHandler(IdempotencyKeyException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyException(IdempotencyKeyException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Idempotency key rejected");
+        body.put("idempotencyKey", ex.getIdempotencyKey());
+        body.put("message", ex.getMessage());
+        HttpStatus status;
+        switch (ex.getReason()) {
+            case REUSED:
+                status = HttpStatus.UNPROCESSABLE_ENTITY;
+                break;
+            case IN_PROGRESS:
+                status = HttpStatus.CONFLICT;
+                break;
+            default:
+                status = HttpStatus.BAD_REQUEST;
+                break;
+        }
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleDeadlineExceededException(DeadlineExceededException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Deadline exceeded");
+        body.put("operation", ex.getOperation());
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(body);
+    }
+
+    @ExceptionHandler(WriteOutcomeUnknownException.class)
+    public ResponseEntity<Map<String, Object>> handleWriteOutcomeUnknownException(WriteOutcomeUnknownException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Outcome unknown");
+        body.put("operation", ex.getOperation());
+        body.put("message", ex.getMessage());
+        HttpStatus status = ex.getCause() instanceof DeadlineExceededException
+                ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY;
+        return ResponseEntity.status(status).body(body);
+    }
+
     @ExceptionHandler(WebClientResponseException.class)
     public ResponseEntity<Map<String, Object>> handleWebClientResponseException(WebClientResponseException ex) {
         Map<String, Object> body = new HashMap<>();
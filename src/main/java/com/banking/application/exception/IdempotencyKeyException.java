@@ -0,0 +1,36 @@
+package com.banking.application.exception;
+
+/**
+ * Exception thrown when a request's Idempotency-Key cannot be honoured.
+ */
+public class IdempotencyKeyException extends RuntimeException {
+    
+    /**
+     * Why the key was refused.
+     */
+    public enum Reason {
+        /** The key is empty or too long. */
+        INVALID,
+        /** The key was already used for a different request. */
+        REUSED,
+        /** The original request with this key is still running. */
+        IN_PROGRESS
+    }
+    
+    private final String idempotencyKey;
+    private final Reason reason;
+    
+    public IdempotencyKeyException(String idempotencyKey, Reason reason, String message) {
+        super(message);
+        this.idempotencyKey = idempotencyKey;
+        this.reason = reason;
+    }
+    
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.application.exception;
+
+/**
+ * Exception thrown when the account search index has not been built yet.
+ */
+public class SearchIndexUnavailableException extends RuntimeException {
+    
+    public SearchIndexUnavailableException() {
+        super("Account search index is not available yet");
+    }
+}
@@ -0,0 +1,21 @@
+package com.banking.application.exception;
+
+/**
+ * Exception thrown when a mutation fails after its first write was sent to the database
+ * tier, for example because a write timed out client-side or the connection dropped.
+ * The write may or may not have been applied, so the caller must check the account's
+ * transaction history rather than blindly retrying.
+ */
+public class WriteOutcomeUnknownException extends RuntimeException {
+    
+    private final String operation;
+    
+    public WriteOutcomeUnknownException(String operation, Throwable cause) {
+        super("Outcome of " + operation + " is unknown: " + cause.getMessage(), cause);
+        this.operation = operation;
+    }
+    
+    public String getOperation() {
+        return operation;
+    }
+}
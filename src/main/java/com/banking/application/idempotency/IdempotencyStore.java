@@ -0,0 +1,201 @@
+package com.banking.application.idempotency;
+
+import com.banking.application.exception.AccountNotFoundException;
+import com.banking.application.exception.IdempotencyKeyException;
+import com.banking.application.exception.IdempotencyKeyException.Reason;
+import com.banking.application.exception.WriteOutcomeUnknownException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of mutation requests by their {@code Idempotency-Key} header,
+ * so that a client retrying after a timeout gets the original response instead of
+ * moving money twice.
+ * <p>
+ * The first request with a key runs; a duplicate that arrives while it is running
+ * waits for it and gets the same outcome, and one that arrives later gets the stored
+ * outcome. Responses, including those describing a business failure such as
+ * insufficient funds or a server error, and {@link AccountNotFoundException} are stored.
+ * A {@link WriteOutcomeUnknownException}, raised when a request fails after it started
+ * writing, is stored too: the money may already have moved, so the retry gets the same
+ * error instead of running again. Only other exceptions, which are raised before any
+ * write is sent (by validation, reads or the deadline check), release the key so that
+ * the retry runs again. A key reused for a different request is refused.
+ * <p>
+ * Keys are kept for {@code idempotency.ttl-ms}, and at most {@code idempotency.max-keys}
+ * are kept at a time. The store is local to this instance, so retries must reach the
+ * same instance to be deduplicated.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LogManager.getLogger(IdempotencyStore.class);
+
+    /**
+     * Request header carrying the client's idempotency key.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Response header set on responses replayed from the store.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String REQUESTS_COUNTER = "idempotency.requests";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${idempotency.max-keys:50000}")
+    private long maxKeys;
+
+    @Value("${idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${idempotency.in-flight-wait-ms:30000}")
+    private long inFlightWaitMs;
+
+    @Value("${idempotency.max-key-length:255}")
+    private int maxKeyLength;
+
+    private Cache<String, Execution> executions;
+
+    private Counter executedCounter;
+    private Counter replayedCounter;
+    private Counter joinedCounter;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        executions = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        executedCounter = requestCounter("executed");
+        replayedCounter = requestCounter("replayed");
+        joinedCounter = requestCounter("joined");
+        rejectedCounter = requestCounter("rejected");
+        Gauge.builder("idempotency.keys", executions, Cache::estimatedSize)
+                .description("Idempotency keys currently remembered")
+                .register(meterRegistry);
+    }
+
+    private Counter requestCounter(String outcome) {
+        return Counter.builder(REQUESTS_COUNTER)
+                .description("Mutation requests by idempotency outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a request once per idempotency key.
+     *
+     * @param idempotencyKey The client's key, or null to run the request without deduplication
+     * @param fingerprint What the request does, such as operation, accounts and amount; a
+     *                    key seen with a different fingerprint is refused
+     * @param action The request
+     * @return The response of the request, or of the earlier request with the same key
+     * @throws IdempotencyKeyException If the key is invalid, reused for a different request,
+     *                                 or its original request is still running after the wait
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String fingerprint,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.trim().isEmpty() || idempotencyKey.length() > maxKeyLength) {
+            rejectedCounter.increment();
+            throw new IdempotencyKeyException(idempotencyKey, Reason.INVALID,
+                    "Idempotency key must be 1 to " + maxKeyLength + " characters");
+        }
+
+        Execution execution = new Execution(fingerprint);
+        ConcurrentMap<String, Execution> map = executions.asMap();
+        Execution previous = map.putIfAbsent(idempotencyKey, execution);
+        if (previous != null) {
+            return replay(idempotencyKey, fingerprint, previous);
+        }
+
+        executedCounter.increment();
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (AccountNotFoundException | WriteOutcomeUnknownException e) {
+            execution.result.completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            // Failed before writing anything; let the retry run again
+            map.remove(idempotencyKey, execution);
+            execution.result.completeExceptionally(e);
+            throw e;
+        }
+        execution.result.complete(response);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(String idempotencyKey, String fingerprint, Execution previous) {
+        if (!previous.fingerprint.equals(fingerprint)) {
+            rejectedCounter.increment();
+            throw new IdempotencyKeyException(idempotencyKey, Reason.REUSED,
+                    "Idempotency key was already used for a different request");
+        }
+        boolean inFlight = !previous.result.isDone();
+        ResponseEntity<?> response;
+        try {
+            response = previous.result.get(inFlightWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            rejectedCounter.increment();
+            throw new IdempotencyKeyException(idempotencyKey, Reason.IN_PROGRESS,
+                    "The original request with this idempotency key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyException(idempotencyKey, Reason.IN_PROGRESS,
+                    "Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            (inFlight ? joinedCounter : replayedCounter).increment();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+        (inFlight ? joinedCounter : replayedCounter).increment();
+        logger.debug("Replaying response for idempotency key {}", idempotencyKey);
+        return (ResponseEntity<T>) ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+
+    /**
+     * The first request with a key, completed with its response or exception.
+     */
+    private static class Execution {
+
+        private final String fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+
+        Execution(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
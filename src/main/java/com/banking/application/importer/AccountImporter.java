@@ -0,0 +1,363 @@
+package com.banking.application.importer;
+
+import com.banking.application.dto.AccountCreateResult;
+import com.banking.application.model.Account;
+import com.banking.application.service.AccountService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming import of accounts with opening balances from CSV or NDJSON.
+ * <p>
+ * The body is read one line at a time and valid rows are collected into batches of
+ * {@code import.batch-size}. Each batch is created through
+ * {@link AccountService#createAccounts}, which keeps a bounded number of creates in
+ * flight, before the next batch is read, so memory use does not grow with the upload.
+ * <p>
+ * The response is NDJSON: one {@code error} line per rejected row, a {@code progress}
+ * line after every batch and a final {@code summary} line. It is flushed after every
+ * batch so that callers see progress while the upload is still being read.
+ */
+@Component
+public class AccountImporter {
+
+    private static final Logger logger = LogManager.getLogger(AccountImporter.class);
+
+    private static final int MAX_ACCOUNT_NUMBER_LENGTH = 64;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${import.batch-size:200}")
+    private int batchSize;
+
+    @Value("${import.max-rows:1000000}")
+    private int maxRows;
+
+    private Counter createdCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void registerMetrics() {
+        createdCounter = Counter.builder("accounts.import.rows")
+                .description("Rows of account imports")
+                .tag("outcome", "created")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("accounts.import.rows")
+                .description("Rows of account imports")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Import accounts from a request body, writing progress and errors as they happen.
+     *
+     * @param body The request body
+     * @param format The body format
+     * @param out The response body
+     * @throws IOException If reading the body or writing the response fails
+     */
+    public void importAccounts(InputStream body, ImportFormat format, OutputStream out) throws IOException {
+        new ImportRun(format, out).run(body);
+    }
+
+    /**
+     * State of one import: the current batch, the account numbers seen so far and the counts.
+     */
+    private class ImportRun {
+
+        private final ImportFormat format;
+        private final OutputStream out;
+        private final long start = System.nanoTime();
+        private final Set<String> seenAccountNumbers = new HashSet<>();
+        private final List<Account> batch = new ArrayList<>(batchSize);
+        private final List<Long> batchLines = new ArrayList<>(batchSize);
+
+        private String[] csvColumns;
+        private boolean headerChecked;
+        private long rows;
+        private long created;
+        private long failed;
+
+        ImportRun(ImportFormat format, OutputStream out) {
+            this.format = format;
+            this.out = out;
+        }
+
+        void run(InputStream body) throws IOException {
+            logger.info("Starting {} account import", format);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                if (format == ImportFormat.CSV && !headerChecked) {
+                    headerChecked = true;
+                    if (isCsvHeader(line)) {
+                        csvColumns = parseCsvHeader(line);
+                        continue;
+                    }
+                }
+                if (rows >= maxRows) {
+                    writeError(lineNumber, null, "Import is limited to " + maxRows + " rows; the rest was skipped");
+                    break;
+                }
+                rows++;
+                accept(lineNumber, line);
+            }
+            createBatch();
+
+            Map<String, Object> summary = line("summary");
+            summary.put("rows", rows);
+            summary.put("created", created);
+            summary.put("failed", failed);
+            summary.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+            write(summary);
+            out.flush();
+            logger.info("Finished {} account import: {} rows, {} created, {} failed", format, rows, created, failed);
+        }
+
+        private void accept(long lineNumber, String line) throws IOException {
+            Account account;
+            try {
+                account = format == ImportFormat.CSV ? parseCsvRow(line) : parseJsonRow(line);
+                validate(account);
+            } catch (IllegalArgumentException e) {
+                reject(lineNumber, null, e.getMessage());
+                return;
+            }
+            if (!seenAccountNumbers.add(account.getAccountNumber())) {
+                reject(lineNumber, account.getAccountNumber(), "Duplicate account number in this import");
+                return;
+            }
+            batch.add(account);
+            batchLines.add(lineNumber);
+            if (batch.size() >= batchSize) {
+                createBatch();
+            }
+        }
+
+        private void createBatch() throws IOException {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<AccountCreateResult> results = accountService.createAccounts(batch);
+            for (int i = 0; i < results.size(); i++) {
+                AccountCreateResult result = results.get(i);
+                if (result.isSuccess()) {
+                    created++;
+                    createdCounter.increment();
+                } else {
+                    reject(batchLines.get(i), batch.get(i).getAccountNumber(), result.getError());
+                }
+            }
+            batch.clear();
+            batchLines.clear();
+
+            Map<String, Object> progress = line("progress");
+            progress.put("rows", rows);
+            progress.put("created", created);
+            progress.put("failed", failed);
+            write(progress);
+            out.flush();
+        }
+
+        private void reject(long lineNumber, String accountNumber, String message) throws IOException {
+            failed++;
+            failedCounter.increment();
+            writeError(lineNumber, accountNumber, message);
+        }
+
+        private void writeError(long lineNumber, String accountNumber, String message) throws IOException {
+            Map<String, Object> error = line("error");
+            error.put("line", lineNumber);
+            error.put("accountNumber", accountNumber);
+            error.put("message", message);
+            write(error);
+        }
+
+        private Map<String, Object> line(String type) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("type", type);
+            return line;
+        }
+
+        private void write(Map<String, Object> line) throws IOException {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+        }
+
+        private boolean isCsvHeader(String line) {
+            try {
+                return "accountnumber".equals(splitCsv(line).get(0).trim().toLowerCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        private String[] parseCsvHeader(String line) {
+            List<String> fields = splitCsv(line);
+            String[] columns = new String[fields.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = fields.get(i).trim().toLowerCase(Locale.ROOT);
+            }
+            return columns;
+        }
+
+        private Account parseCsvRow(String line) {
+            List<String> fields = splitCsv(line);
+            String accountNumber = null;
+            String holderName = null;
+            String balance = null;
+            if (csvColumns == null) {
+                if (fields.size() != 3) {
+                    throw new IllegalArgumentException("Expected 3 fields but found " + fields.size());
+                }
+                accountNumber = fields.get(0);
+                holderName = fields.get(1);
+                balance = fields.get(2);
+            } else {
+                for (int i = 0; i < csvColumns.length && i < fields.size(); i++) {
+                    switch (csvColumns[i]) {
+                        case "accountnumber":
+                            accountNumber = fields.get(i);
+                            break;
+                        case "accountholdername":
+                            holderName = fields.get(i);
+                            break;
+                        case "balance":
+                            balance = fields.get(i);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+            return new Account(trimToNull(accountNumber), trimToNull(holderName), parseBalance(balance));
+        }
+
+        private Account parseJsonRow(String line) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            JsonNode balance = node.get("balance");
+            return new Account(
+                    trimToNull(node.path("accountNumber").asText(null)),
+                    trimToNull(node.path("accountHolderName").asText(null)),
+                    balance == null || balance.isNull() ? 0.0 : parseBalance(balance.asText()));
+        }
+    }
+
+    private static void validate(Account account) {
+        String accountNumber = account.getAccountNumber();
+        if (accountNumber == null) {
+            throw new IllegalArgumentException("Account number is required");
+        }
+        if (accountNumber.length() > MAX_ACCOUNT_NUMBER_LENGTH || accountNumber.chars().anyMatch(Character::isWhitespace)) {
+            throw new IllegalArgumentException("Invalid account number");
+        }
+        if (account.getAccountHolderName() == null) {
+            throw new IllegalArgumentException("Account holder name is required");
+        }
+    }
+
+    private static double parseBalance(String value) {
+        String trimmed = trimToNull(value);
+        if (trimmed == null) {
+            return 0.0;
+        }
+        double balance;
+        try {
+            balance = Double.parseDouble(trimmed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid balance: " + trimmed);
+        }
+        if (Double.isNaN(balance) || Double.isInfinite(balance) || balance < 0) {
+            throw new IllegalArgumentException("Balance must be a non-negative amount");
+        }
+        return balance;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Split a CSV line into fields. Fields may be quoted with double quotes, with
+     * doubled quotes inside; quoted fields cannot span lines.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,49 @@
+package com.banking.application.importer;
+
+import java.util.Locale;
+
+/**
+ * Body formats accepted by the account import.
+ */
+public enum ImportFormat {
+
+    /**
+     * Comma-separated values, one account per line: account number, holder name and
+     * opening balance. A header line naming the columns is optional.
+     */
+    CSV("text/csv"),
+
+    /**
+     * Newline-delimited JSON, one account object per line.
+     */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    ImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Get the format of a request body.
+     *
+     * @param contentType The request content type, possibly with parameters
+     * @return The format
+     * @throws IllegalArgumentException If the content type is not an import format
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String baseType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            for (ImportFormat format : values()) {
+                if (format.mediaType.equals(baseType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+}
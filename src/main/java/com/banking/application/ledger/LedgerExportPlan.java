@@ -0,0 +1,31 @@
+package com.banking.application.ledger;
+
+import java.util.List;
+
+/**
+ * The accounts one ledger export request covers, in account number order, and the
+ * cursor at which the next request continues.
+ */
+public class LedgerExportPlan {
+
+    private final List<String> accountNumbers;
+    private final String nextCursor;
+
+    public LedgerExportPlan(List<String> accountNumbers, String nextCursor) {
+        this.accountNumbers = accountNumbers;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<String> getAccountNumbers() {
+        return accountNumbers;
+    }
+
+    /**
+     * Get the account number the next request should start at.
+     *
+     * @return The next cursor, or null if this request covers the remaining accounts
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
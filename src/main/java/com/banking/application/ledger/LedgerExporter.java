@@ -0,0 +1,284 @@
+package com.banking.application.ledger;
+
+import com.banking.application.model.Account;
+import com.banking.application.model.Transaction;
+import com.banking.application.service.impl.DatabaseTierClient;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streaming export of all accounts' transactions in a time window, for reconciliation.
+ * <p>
+ * Accounts are exported in account number order. Their histories are fetched from the
+ * database tier with up to {@code ledger.export.concurrency} fetches in flight and
+ * written in order as they arrive, so the transactions held in memory are bounded by the
+ * histories in flight rather than by the size of the export. Each account's transactions
+ * are contiguous in the output, which makes the account number a resume cursor: an
+ * interrupted export continues from the last account seen, dropping that account's
+ * partial rows.
+ * <p>
+ * The account numbers themselves are not streamed: every request, including each page of
+ * a paged export, fetches the full account list and sorts its numbers, so that part
+ * grows with the number of accounts.
+ */
+@Component
+public class LedgerExporter {
+
+    private static final Logger logger = LogManager.getLogger(LedgerExporter.class);
+
+    private static final String CSV_HEADER = "accountNumber,transactionId,timestamp,type,amount,"
+            + "resultingBalance,description,sourceAccountNumber,destinationAccountNumber\n";
+
+    @Autowired
+    private DatabaseTierClient databaseTierClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ledger.export.concurrency:8}")
+    private int concurrency;
+
+    private Counter accountCounter;
+    private Counter transactionCounter;
+
+    @PostConstruct
+    public void registerMetrics() {
+        accountCounter = Counter.builder("ledger.export.accounts")
+                .description("Accounts written by ledger exports")
+                .register(meterRegistry);
+        transactionCounter = Counter.builder("ledger.export.transactions")
+                .description("Transactions written by ledger exports")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Decide which accounts an export request covers. This fetches and sorts the numbers
+     * of all accounts, whatever the cursor and page size.
+     *
+     * @param cursor Account number to start at, inclusive, or null to start at the first account
+     * @param maxAccounts Maximum accounts in this request, or 0 for all remaining accounts
+     * @return The plan
+     */
+    public LedgerExportPlan plan(String cursor, int maxAccounts) {
+        List<Account> accounts = databaseTierClient.getAllAccounts().block();
+        List<String> accountNumbers = new ArrayList<>(accounts != null ? accounts.size() : 0);
+        if (accounts != null) {
+            for (Account account : accounts) {
+                accountNumbers.add(account.getAccountNumber());
+            }
+        }
+        Collections.sort(accountNumbers);
+
+        int start = 0;
+        if (cursor != null) {
+            int position = Collections.binarySearch(accountNumbers, cursor);
+            start = position >= 0 ? position : -position - 1;
+        }
+        int end = maxAccounts > 0 ? (int) Math.min((long) start + maxAccounts, accountNumbers.size())
+                : accountNumbers.size();
+        String nextCursor = end < accountNumbers.size() ? accountNumbers.get(end) : null;
+        return new LedgerExportPlan(new ArrayList<>(accountNumbers.subList(start, end)), nextCursor);
+    }
+
+    /**
+     * Write the transactions of the planned accounts that fall in a time window.
+     *
+     * @param plan The accounts to export
+     * @param from Start of the window, inclusive, or null for no lower bound
+     * @param to End of the window, exclusive, or null for no upper bound
+     * @param format Output format
+     * @param out The response body
+     * @throws IOException If writing fails
+     */
+    public void export(LedgerExportPlan plan, Instant from, Instant to, LedgerFormat format,
+                       OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        List<String> accountNumbers = plan.getAccountNumbers();
+        LedgerWriter writer = format == LedgerFormat.CSV ? new CsvLedgerWriter(out) : new JsonLedgerWriter(out);
+        logger.info("Starting {} ledger export of {} accounts", format, accountNumbers.size());
+
+        int written = 0;
+        long transactions = 0;
+        // Closing the stream cancels the fetches still in flight if writing fails
+        try (Stream<List<Transaction>> histories = Flux.fromIterable(accountNumbers)
+                .flatMapSequential(databaseTierClient::getTransactionHistory, concurrency, 1)
+                .toStream(1)) {
+            Iterator<List<Transaction>> iterator = histories.iterator();
+            while (iterator.hasNext()) {
+                List<Transaction> history = iterator.next();
+                String accountNumber = accountNumbers.get(written);
+                for (Transaction transaction : history) {
+                    if (inWindow(transaction.getTimestamp(), from, to)) {
+                        writer.write(accountNumber, transaction);
+                        transactions++;
+                    }
+                }
+                written++;
+                accountCounter.increment();
+            }
+        } catch (RuntimeException e) {
+            String resumeCursor = accountNumbers.get(written);
+            logger.warn("Ledger export failed at account {}: {}", resumeCursor, e.getMessage());
+            writer.fail(resumeCursor, e.getMessage());
+            throw e;
+        } finally {
+            transactionCounter.increment(transactions);
+        }
+        writer.end(written, transactions, plan.getNextCursor());
+        logger.info("Finished {} ledger export: {} accounts, {} transactions in {} ms",
+                format, written, transactions, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static boolean inWindow(Date timestamp, Instant from, Instant to) {
+        if (from == null && to == null) {
+            return true;
+        }
+        if (timestamp == null) {
+            return false;
+        }
+        Instant instant = timestamp.toInstant();
+        return (from == null || !instant.isBefore(from)) && (to == null || instant.isBefore(to));
+    }
+
+    private interface LedgerWriter {
+
+        void write(String accountNumber, Transaction transaction) throws IOException;
+
+        void fail(String resumeCursor, String message) throws IOException;
+
+        void end(int accounts, long transactions, String nextCursor) throws IOException;
+    }
+
+    /**
+     * One transaction object per line, then an {@code end} line with the counts. A
+     * failed export ends with an {@code error} line holding the cursor to resume at.
+     */
+    private class JsonLedgerWriter implements LedgerWriter {
+
+        private final JsonGenerator json;
+
+        JsonLedgerWriter(OutputStream out) throws IOException {
+            json = objectMapper.getFactory().createGenerator(out);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(String accountNumber, Transaction transaction) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("accountNumber", accountNumber);
+            json.writeStringField("transactionId", transaction.getTransactionId());
+            json.writeStringField("timestamp", transaction.getTimestamp() != null
+                    ? transaction.getTimestamp().toInstant().toString() : null);
+            json.writeStringField("type", transaction.getType());
+            json.writeNumberField("amount", transaction.getAmount());
+            json.writeNumberField("resultingBalance", transaction.getResultingBalance());
+            json.writeStringField("description", transaction.getDescription());
+            json.writeStringField("sourceAccountNumber", transaction.getSourceAccountNumber());
+            json.writeStringField("destinationAccountNumber", transaction.getDestinationAccountNumber());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void fail(String resumeCursor, String message) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("error", message);
+            json.writeStringField("resumeCursor", resumeCursor);
+            json.writeEndObject();
+            json.writeRaw('\n');
+            json.flush();
+        }
+
+        @Override
+        public void end(int accounts, long transactions, String nextCursor) throws IOException {
+            json.writeStartObject();
+            json.writeBooleanField("end", true);
+            json.writeNumberField("accounts", accounts);
+            json.writeNumberField("transactions", transactions);
+            json.writeStringField("nextCursor", nextCursor);
+            json.writeEndObject();
+            json.writeRaw('\n');
+            json.flush();
+        }
+    }
+
+    /**
+     * A header line, then one row per transaction. CSV has no room for a trailer, so a
+     * failed export is only visible as a truncated response.
+     */
+    private static class CsvLedgerWriter implements LedgerWriter {
+
+        private final Writer csv;
+
+        CsvLedgerWriter(OutputStream out) throws IOException {
+            csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            csv.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(String accountNumber, Transaction transaction) throws IOException {
+            field(accountNumber, ',');
+            field(transaction.getTransactionId(), ',');
+            field(transaction.getTimestamp() != null ? transaction.getTimestamp().toInstant().toString() : null, ',');
+            field(transaction.getType(), ',');
+            csv.write(Double.toString(transaction.getAmount()));
+            csv.write(',');
+            csv.write(Double.toString(transaction.getResultingBalance()));
+            csv.write(',');
+            field(transaction.getDescription(), ',');
+            field(transaction.getSourceAccountNumber(), ',');
+            field(transaction.getDestinationAccountNumber(), '\n');
+        }
+
+        private void field(String value, char separator) throws IOException {
+            if (value != null) {
+                if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                        || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                    csv.write('"');
+                    csv.write(value.replace("\"", "\"\""));
+                    csv.write('"');
+                } else {
+                    csv.write(value);
+                }
+            }
+            csv.write(separator);
+        }
+
+        @Override
+        public void fail(String resumeCursor, String message) throws IOException {
+            csv.flush();
+        }
+
+        @Override
+        public void end(int accounts, long transactions, String nextCursor) throws IOException {
+            csv.flush();
+        }
+    }
+}
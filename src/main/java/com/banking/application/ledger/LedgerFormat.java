@@ -0,0 +1,40 @@
+package com.banking.application.ledger;
+
+import java.util.Locale;
+
+/**
+ * Output formats of the ledger export.
+ */
+public enum LedgerFormat {
+
+    /**
+     * Newline-delimited JSON, one transaction object per line and a closing {@code end} line.
+     */
+    NDJSON("application/x-ndjson"),
+
+    /**
+     * Comma-separated values with a header line.
+     */
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    LedgerFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Get a format by name, ignoring case.
+     *
+     * @param name Format name
+     * @return The format
+     * @throws IllegalArgumentException If there is no such format
+     */
+    public static LedgerFormat fromName(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,75 @@
+package com.banking.application.reconciliation;
+
+import java.util.Date;
+
+/**
+ * An account whose balance does not match its transaction history.
+ */
+public class BalanceDiscrepancy {
+
+    private final String accountNumber;
+    private final double balance;
+    private final double ledgerBalance;
+    private final String firstBreakTransactionId;
+    private final Date detectedAt;
+
+    public BalanceDiscrepancy(String accountNumber, double balance, double ledgerBalance,
+                              String firstBreakTransactionId) {
+        this.accountNumber = accountNumber;
+        this.balance = balance;
+        this.ledgerBalance = ledgerBalance;
+        this.firstBreakTransactionId = firstBreakTransactionId;
+        this.detectedAt = new Date();
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    /**
+     * Get the balance stored in the database tier.
+     *
+     * @return The stored balance
+     */
+    public double getBalance() {
+        return balance;
+    }
+
+    /**
+     * Get the balance implied by the history: the opening balance before the first
+     * transaction plus the signed amounts of all transactions.
+     *
+     * @return The ledger balance
+     */
+    public double getLedgerBalance() {
+        return ledgerBalance;
+    }
+
+    public double getDifference() {
+        return balance - ledgerBalance;
+    }
+
+    /**
+     * Get the first transaction whose resulting balance does not follow from the one
+     * before it, which is where the drift started.
+     *
+     * @return The transaction ID, or null if the history itself is consistent
+     */
+    public String getFirstBreakTransactionId() {
+        return firstBreakTransactionId;
+    }
+
+    public Date getDetectedAt() {
+        return detectedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceDiscrepancy{" +
+                "accountNumber='" + accountNumber + '\'' +
+                ", balance=" + balance +
+                ", ledgerBalance=" + ledgerBalance +
+                ", firstBreakTransactionId='" + firstBreakTransactionId + '\'' +
+                '}';
+    }
+}
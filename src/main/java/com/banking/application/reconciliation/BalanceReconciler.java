@@ -0,0 +1,427 @@
+package com.banking.application.reconciliation;
+
+import com.banking.application.model.Account;
+import com.banking.application.model.Transaction;
+import com.banking.application.model.Transaction.TransactionType;
+import com.banking.application.service.impl.DatabaseTierClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scheduled check of every account's balance against its transaction history.
+ * <p>
+ * Balances are written as absolute values computed from reads that may be stale, so a
+ * lost update leaves a balance that no longer matches the ledger. For each account the
+ * run replays the history in timestamp order from the opening balance implied by the
+ * first transaction, and reports a discrepancy when the result differs from the stored
+ * balance or when a transaction's resulting balance does not follow from the previous one.
+ * Accounts that look wrong are checked again after a short delay, so that a deposit
+ * whose transaction was not yet recorded is not reported.
+ * <p>
+ * Histories are fetched with bounded concurrency and at most
+ * {@code reconciliation.max-accounts-per-second}, to spare the database tier. Progress is
+ * checkpointed to a file, and a run that was interrupted resumes from the checkpoint.
+ */
+@Component
+public class BalanceReconciler {
+
+    private static final Logger logger = LogManager.getLogger(BalanceReconciler.class);
+
+    private static final String RUN_TIMER = "reconciliation.run";
+    private static final String ACCOUNTS_COUNTER = "reconciliation.accounts";
+
+    @Autowired
+    private DatabaseTierClient databaseTierClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reconciliation.concurrency:4}")
+    private int concurrency;
+
+    @Value("${reconciliation.max-accounts-per-second:100}")
+    private int maxAccountsPerSecond;
+
+    @Value("${reconciliation.tolerance:0.005}")
+    private double tolerance;
+
+    @Value("${reconciliation.recheck-delay-ms:2000}")
+    private long recheckDelayMs;
+
+    @Value("${reconciliation.checkpoint.path:cache/reconciliation.checkpoint}")
+    private String checkpointPath;
+
+    @Value("${reconciliation.checkpoint.interval:500}")
+    private int checkpointInterval;
+
+    @Value("${reconciliation.checkpoint.max-age-ms:86400000}")
+    private long checkpointMaxAgeMs;
+
+    @Value("${reconciliation.report.max-discrepancies:100}")
+    private int maxReportedDiscrepancies;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private ReconciliationCheckpoint checkpoint;
+    private volatile Run lastRun;
+
+    private Counter consistentCounter;
+    private Counter discrepancyCounter;
+    private Counter errorCounter;
+
+    @PostConstruct
+    public void init() {
+        checkpoint = new ReconciliationCheckpoint(Paths.get(checkpointPath));
+        consistentCounter = accountCounter("consistent");
+        discrepancyCounter = accountCounter("discrepancy");
+        errorCounter = accountCounter("error");
+        Gauge.builder("reconciliation.last.discrepancies", this, r -> r.lastRun != null ? r.lastRun.discrepancyCount : 0)
+                .description("Accounts found out of balance by the last reconciliation run")
+                .register(meterRegistry);
+        Gauge.builder("reconciliation.last.discrepancy.amount", this,
+                r -> r.lastRun != null ? r.lastRun.discrepancyAmount : 0)
+                .description("Sum of absolute balance differences found by the last reconciliation run")
+                .register(meterRegistry);
+        Gauge.builder("reconciliation.last.completed", this,
+                r -> r.lastRun != null && r.lastRun.completedAt != null ? r.lastRun.completedAt.getTime() / 1000.0 : 0)
+                .description("When the last reconciliation run completed, in epoch seconds")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private Counter accountCounter(String outcome) {
+        return Counter.builder(ACCOUNTS_COUNTER)
+                .description("Accounts checked by balance reconciliation")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a reconciliation on the configured schedule.
+     */
+    @Scheduled(cron = "${reconciliation.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Check all accounts, resuming an interrupted run if there is a recent checkpoint.
+     * Returns immediately if a run is already in progress.
+     *
+     * @return True if a run was started
+     */
+    public boolean reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Reconciliation already running");
+            return false;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        try {
+            ReconciliationCheckpoint.Progress resumeFrom = readCheckpoint();
+            Run run = new Run(resumeFrom);
+            lastRun = run;
+            execute(run);
+            run.completedAt = new Date();
+            outcome = "completed";
+            logger.info("Reconciliation completed: {} accounts checked, {} discrepancies totalling {}, {} errors",
+                    Unbox.box(run.checked), Unbox.box(run.discrepancyCount), Unbox.box(run.discrepancyAmount),
+                    Unbox.box(run.errors));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Reconciliation failed: {}", e.getMessage(), e);
+            if (lastRun != null) {
+                lastRun.failure = e.getMessage();
+            }
+        } finally {
+            sample.stop(Timer.builder(RUN_TIMER)
+                    .description("Duration of balance reconciliation runs")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            running.set(false);
+        }
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Get the current or last run.
+     *
+     * @return The run, or null if none has started since startup
+     */
+    public Run getLastRun() {
+        return lastRun;
+    }
+
+    private void execute(Run run) throws IOException {
+        List<Account> accounts = databaseTierClient.getAllAccounts().block();
+        List<Account> pending = new ArrayList<>(accounts != null ? accounts : Collections.emptyList());
+        pending.sort(Comparator.comparing(Account::getAccountNumber));
+        if (run.resumedAfter != null) {
+            pending.removeIf(account -> account.getAccountNumber().compareTo(run.resumedAfter) <= 0);
+            logger.info("Resuming reconciliation after account {}, {} accounts left",
+                    run.resumedAfter, Unbox.box(pending.size()));
+        } else {
+            logger.info("Starting reconciliation of {} accounts", Unbox.box(pending.size()));
+        }
+        run.total = pending.size();
+
+        Flux<Account> source = Flux.fromIterable(pending);
+        if (maxAccountsPerSecond > 0) {
+            source = source.delayElements(Duration.ofNanos(TimeUnit.SECONDS.toNanos(1) / maxAccountsPerSecond));
+        }
+        // Results arrive in account order, so every result also advances the checkpoint
+        Iterable<AccountResult> results = source
+                .flatMapSequential(this::check, concurrency, 1)
+                .toIterable(1);
+
+        for (AccountResult result : results) {
+            run.checked++;
+            if (result.error != null) {
+                run.errors++;
+                errorCounter.increment();
+                logger.warn("Could not reconcile account {}: {}", result.accountNumber, result.error);
+            } else if (result.discrepancy != null) {
+                run.record(result.discrepancy, maxReportedDiscrepancies);
+                discrepancyCounter.increment();
+                logger.warn("Balance discrepancy in account {}: balance {} but ledger gives {} (first break at {})",
+                        result.accountNumber, Unbox.box(result.discrepancy.getBalance()),
+                        Unbox.box(result.discrepancy.getLedgerBalance()),
+                        result.discrepancy.getFirstBreakTransactionId());
+            } else {
+                consistentCounter.increment();
+            }
+            if (run.checked % checkpointInterval == 0) {
+                checkpoint.write(run.firstStarted, result.accountNumber);
+            }
+        }
+        checkpoint.clear();
+    }
+
+    private ReconciliationCheckpoint.Progress readCheckpoint() {
+        try {
+            ReconciliationCheckpoint.Progress progress = checkpoint.read();
+            if (progress != null && System.currentTimeMillis() - progress.getRunStarted() > checkpointMaxAgeMs) {
+                logger.info("Ignoring reconciliation checkpoint from {}", new Date(progress.getRunStarted()));
+                return null;
+            }
+            return progress;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable reconciliation checkpoint: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Check one account, and check again after the recheck delay if it looks out of balance.
+     */
+    private Mono<AccountResult> check(Account account) {
+        String accountNumber = account.getAccountNumber();
+        return databaseTierClient.getTransactionHistory(accountNumber)
+                .flatMap(history -> {
+                    if (compare(accountNumber, account.getBalance(), history) == null) {
+                        return Mono.just(AccountResult.consistent(accountNumber));
+                    }
+                    return Mono.delay(Duration.ofMillis(recheckDelayMs))
+                            .then(Mono.zip(databaseTierClient.getAccount(accountNumber),
+                                    databaseTierClient.getTransactionHistory(accountNumber)))
+                            .map(fresh -> AccountResult.of(accountNumber,
+                                    compare(accountNumber, fresh.getT1().getBalance(), fresh.getT2())));
+                })
+                .onErrorResume(e -> Mono.just(AccountResult.failed(accountNumber, e.getMessage())));
+    }
+
+    /**
+     * Replay a history from the opening balance implied by its first transaction.
+     *
+     * @return The discrepancy, or null if the balance matches the history
+     */
+    private BalanceDiscrepancy compare(String accountNumber, double balance, List<Transaction> history) {
+        List<Transaction> ordered = new ArrayList<>(history);
+        ordered.sort(Comparator.comparing(Transaction::getTimestamp, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        double ledgerBalance = Double.NaN;
+        String firstBreak = null;
+        for (Transaction transaction : ordered) {
+            double signedAmount = signedAmount(transaction);
+            if (Double.isNaN(signedAmount)) {
+                continue;
+            }
+            if (Double.isNaN(ledgerBalance)) {
+                ledgerBalance = transaction.getResultingBalance();
+                continue;
+            }
+            ledgerBalance += signedAmount;
+            if (firstBreak == null && Math.abs(ledgerBalance - transaction.getResultingBalance()) > tolerance) {
+                firstBreak = transaction.getTransactionId();
+            }
+        }
+        if (Double.isNaN(ledgerBalance)) {
+            // Nothing to compare against
+            return null;
+        }
+        if (firstBreak == null && Math.abs(balance - ledgerBalance) <= tolerance) {
+            return null;
+        }
+        return new BalanceDiscrepancy(accountNumber, balance, ledgerBalance, firstBreak);
+    }
+
+    private static double signedAmount(Transaction transaction) {
+        if (transaction.getType() == null) {
+            return Double.NaN;
+        }
+        try {
+            switch (TransactionType.valueOf(transaction.getType())) {
+                case DEPOSIT:
+                case TRANSFER_IN:
+                    return transaction.getAmount();
+                case WITHDRAWAL:
+                case TRANSFER_OUT:
+                    return -transaction.getAmount();
+                default:
+                    return Double.NaN;
+            }
+        } catch (IllegalArgumentException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Progress and findings of one reconciliation run.
+     */
+    public static class Run {
+
+        private final Date startedAt = new Date();
+        private final String resumedAfter;
+        private final long firstStarted;
+        private final List<BalanceDiscrepancy> discrepancies = Collections.synchronizedList(new ArrayList<>());
+        private volatile Date completedAt;
+        private volatile String failure;
+        private volatile int total;
+        private volatile int checked;
+        private volatile int errors;
+        private volatile int discrepancyCount;
+        private volatile double discrepancyAmount;
+
+        Run(ReconciliationCheckpoint.Progress resumeFrom) {
+            this.resumedAfter = resumeFrom != null ? resumeFrom.getLastAccount() : null;
+            // Checkpoints keep the start of the run they continue, so that their age limit holds
+            this.firstStarted = resumeFrom != null ? resumeFrom.getRunStarted() : startedAt.getTime();
+        }
+
+        void record(BalanceDiscrepancy discrepancy, int maxReported) {
+            discrepancyCount++;
+            discrepancyAmount += Math.abs(discrepancy.getDifference());
+            if (discrepancies.size() < maxReported) {
+                discrepancies.add(discrepancy);
+            }
+        }
+
+        public Date getStartedAt() {
+            return startedAt;
+        }
+
+        public Date getCompletedAt() {
+            return completedAt;
+        }
+
+        /**
+         * Get the account the run resumed after, if it continued an interrupted run.
+         *
+         * @return The account number, or null if the run started from the first account
+         */
+        public String getResumedAfter() {
+            return resumedAfter;
+        }
+
+        public String getFailure() {
+            return failure;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getChecked() {
+            return checked;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        public int getDiscrepancyCount() {
+            return discrepancyCount;
+        }
+
+        public double getDiscrepancyAmount() {
+            return discrepancyAmount;
+        }
+
+        /**
+         * Get the discrepancies found, up to the configured maximum.
+         *
+         * @return The discrepancies
+         */
+        public List<BalanceDiscrepancy> getDiscrepancies() {
+            synchronized (discrepancies) {
+                return new ArrayList<>(discrepancies);
+            }
+        }
+    }
+
+    private static class AccountResult {
+
+        private final String accountNumber;
+        private final BalanceDiscrepancy discrepancy;
+        private final String error;
+
+        private AccountResult(String accountNumber, BalanceDiscrepancy discrepancy, String error) {
+            this.accountNumber = accountNumber;
+            this.discrepancy = discrepancy;
+            this.error = error;
+        }
+
+        static AccountResult consistent(String accountNumber) {
+            return new AccountResult(accountNumber, null, null);
+        }
+
+        static AccountResult of(String accountNumber, BalanceDiscrepancy discrepancy) {
+            return new AccountResult(accountNumber, discrepancy, null);
+        }
+
+        static AccountResult failed(String accountNumber, String error) {
+            return new AccountResult(accountNumber, null, error);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.application.reconciliation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * File recording how far an unfinished reconciliation run got, so that the next run
+ * resumes after the last account checked instead of starting over. Written to a
+ * temporary file and moved into place, and deleted when a run completes.
+ */
+public class ReconciliationCheckpoint {
+
+    private static final String RUN_STARTED = "runStarted";
+    private static final String LAST_ACCOUNT = "lastAccount";
+
+    private final Path path;
+
+    public ReconciliationCheckpoint(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Record progress of a run.
+     *
+     * @param runStarted When the run started, in epoch milliseconds
+     * @param lastAccount Account number checked last; all accounts before it have been checked
+     * @throws IOException If the file cannot be written
+     */
+    public void write(long runStarted, String lastAccount) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(RUN_STARTED, Long.toString(runStarted));
+        properties.setProperty(LAST_ACCOUNT, lastAccount);
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Balance reconciliation progress");
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Read the checkpoint of an unfinished run.
+     *
+     * @return The checkpoint, or null if there is none
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    public Progress read() throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        }
+        String runStarted = properties.getProperty(RUN_STARTED);
+        String lastAccount = properties.getProperty(LAST_ACCOUNT);
+        if (runStarted == null || lastAccount == null) {
+            throw new IOException("Malformed reconciliation checkpoint " + path);
+        }
+        try {
+            return new Progress(Long.parseLong(runStarted), lastAccount);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed reconciliation checkpoint " + path, e);
+        }
+    }
+
+    /**
+     * Remove the checkpoint once a run has completed.
+     *
+     * @throws IOException If the file cannot be deleted
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Progress of an unfinished run.
+     */
+    public static class Progress {
+
+        private final long runStarted;
+        private final String lastAccount;
+
+        Progress(long runStarted, String lastAccount) {
+            this.runStarted = runStarted;
+            this.lastAccount = lastAccount;
+        }
+
+        public long getRunStarted() {
+            return runStarted;
+        }
+
+        public String getLastAccount() {
+            return lastAccount;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.banking.application.reconciliation;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint at /actuator/reconciliation showing the current or last
+ * reconciliation run. A POST starts a run in the background.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+public class ReconciliationEndpoint {
+
+    @Autowired
+    private BalanceReconciler balanceReconciler;
+
+    @ReadOperation
+    public Map<String, Object> reconciliation() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("running", balanceReconciler.isRunning());
+        body.put("lastRun", balanceReconciler.getLastRun());
+        return body;
+    }
+
+    @WriteOperation
+    public Map<String, Object> start() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (balanceReconciler.isRunning()) {
+            body.put("started", false);
+            return body;
+        }
+        Thread runThread = new Thread(balanceReconciler::reconcile, "reconciliation-manual");
+        runThread.setDaemon(true);
+        runThread.start();
+        body.put("started", true);
+        return body;
+    }
+}
@@ -0,0 +1,48 @@
+package com.banking.application.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time by which an inbound request must be answered. Database tier
+ * calls made for the request get the time remaining as their timeout.
+ */
+public final class Deadline {
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Create a deadline a given time from now.
+     *
+     * @param timeoutMs Time until the deadline in milliseconds
+     * @return The deadline
+     */
+    public static Deadline after(long timeoutMs) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+    }
+
+    /**
+     * Get the time left until the deadline.
+     *
+     * @return Remaining time in nanoseconds, zero or negative once the deadline has passed
+     */
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    /**
+     * Get the time left until the deadline.
+     *
+     * @return Remaining time in milliseconds, zero once the deadline has passed
+     */
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(remainingNanos()));
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+}
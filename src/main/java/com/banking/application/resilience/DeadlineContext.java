@@ -0,0 +1,71 @@
+package com.banking.application.resilience;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Holds the deadline of the request being served by the current thread.
+ * <p>
+ * Like {@link com.banking.application.trace.RequestTraceContext}, blocking service code
+ * sees the deadline directly, and reactive pipelines that fan out onto Reactor threads
+ * should carry it along with {@link #propagate()}.
+ */
+public final class DeadlineContext {
+
+    /**
+     * Header carrying a request's time budget in milliseconds, accepted from callers
+     * and sent to the database tier with the time remaining.
+     */
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private static final String CONTEXT_KEY = Deadline.class.getName();
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    /**
+     * Get the deadline of the current thread's request.
+     *
+     * @return The deadline, or null outside a request with a deadline
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Get the deadline carried by a Reactor context, falling back to the current thread.
+     *
+     * @param context The Reactor context
+     * @return The deadline, or null outside a request with a deadline
+     */
+    public static Deadline current(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, CURRENT.get());
+    }
+
+    /**
+     * Set the deadline of the request the current thread starts serving. Must be
+     * followed by {@link #clear()} when the request is done.
+     *
+     * @param deadline The deadline
+     */
+    public static void set(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Create a Reactor context carrying the current thread's deadline, for use with
+     * {@code contextWrite}.
+     *
+     * @return The context, empty outside a request with a deadline
+     */
+    public static Context propagate() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null ? Context.of(CONTEXT_KEY, deadline) : Context.empty();
+    }
+}
@@ -0,0 +1,31 @@
+package com.banking.application.resilience;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tells the database tier how long the caller is still willing to wait, so that it
+ * can give up on work nobody will read. Only reads carry the budget: a write must be
+ * applied completely once sent, however late its answer.
+ */
+@Component
+public class DeadlineExchangeFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = DeadlineContext.current(context);
+            if (deadline == null || request.method() != HttpMethod.GET) {
+                return next.exchange(request);
+            }
+            return next.exchange(ClientRequest.from(request)
+                    .header(DeadlineContext.REQUEST_TIMEOUT_HEADER, String.valueOf(deadline.remainingMillis()))
+                    .build());
+        });
+    }
+}
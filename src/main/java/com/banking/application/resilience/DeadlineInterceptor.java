@@ -0,0 +1,57 @@
+package com.banking.application.resilience;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Gives every API request a deadline. Callers may ask for a shorter or longer budget
+ * with the X-Request-Timeout-Ms header, up to {@code deadline.max-ms}; otherwise the
+ * request gets {@code deadline.default-ms}.
+ * <p>
+ * Async requests such as imports and ledger exports leave the request thread before
+ * their work starts, so their work runs without a deadline and only per-call timeouts
+ * apply.
+ */
+@Component
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    @Value("${deadline.default-ms:10000}")
+    private long defaultMs;
+
+    @Value("${deadline.max-ms:60000}")
+    private long maxMs;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        DeadlineContext.set(Deadline.after(timeoutMs(request.getHeader(DeadlineContext.REQUEST_TIMEOUT_HEADER))));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        DeadlineContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        DeadlineContext.clear();
+    }
+
+    private long timeoutMs(String header) {
+        if (header == null) {
+            return defaultMs;
+        }
+        try {
+            long requested = Long.parseLong(header.trim());
+            return requested > 0 ? Math.min(requested, maxMs) : defaultMs;
+        } catch (NumberFormatException e) {
+            return defaultMs;
+        }
+    }
+}
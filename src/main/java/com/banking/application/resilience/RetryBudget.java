@@ -0,0 +1,110 @@
+package com.banking.application.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket limiting database tier retries across the whole instance, so that
+ * retries cannot multiply the load on a database tier that is already failing.
+ * <p>
+ * Every call adds {@code database.tier.retry.budget.ratio} of a token and every retry
+ * takes a whole one, so retries stay below that fraction of calls however many
+ * requests are failing. The bucket also refills at
+ * {@code database.tier.retry.budget.min-per-second} so that an idle instance can still
+ * retry, and holds at most {@code database.tier.retry.budget.max-tokens}.
+ */
+@Component
+public class RetryBudget {
+
+    /**
+     * Tokens are kept in thousandths so that deposits can be lock-free.
+     */
+    private static final long TOKEN = 1000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${database.tier.retry.budget.ratio:0.1}")
+    private double ratio;
+
+    @Value("${database.tier.retry.budget.min-per-second:10}")
+    private double minPerSecond;
+
+    @Value("${database.tier.retry.budget.max-tokens:100}")
+    private long maxTokens;
+
+    private final AtomicLong tokens = new AtomicLong();
+
+    private long capacity;
+    private long deposit;
+    private long lastRefillNanos;
+
+    @PostConstruct
+    public void init() {
+        capacity = maxTokens * TOKEN;
+        deposit = Math.round(ratio * TOKEN);
+        tokens.set(capacity);
+        lastRefillNanos = System.nanoTime();
+        Gauge.builder("database.tier.retry.budget.tokens", this, RetryBudget::availableTokens)
+                .description("Database tier retries currently allowed by the retry budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a database tier call, earning part of a retry.
+     */
+    public void recordCall() {
+        add(deposit);
+    }
+
+    /**
+     * Take a retry from the budget.
+     *
+     * @return Whether the retry may go ahead
+     */
+    public boolean tryAcquire() {
+        refill();
+        while (true) {
+            long available = tokens.get();
+            if (available < TOKEN) {
+                return false;
+            }
+            if (tokens.compareAndSet(available, available - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get the number of retries currently allowed.
+     *
+     * @return Available tokens
+     */
+    public double availableTokens() {
+        return tokens.get() / (double) TOKEN;
+    }
+
+    private void refill() {
+        long earned;
+        synchronized (this) {
+            long now = System.nanoTime();
+            earned = (long) ((now - lastRefillNanos) * minPerSecond * TOKEN / TimeUnit.SECONDS.toNanos(1));
+            if (earned <= 0) {
+                return;
+            }
+            lastRefillNanos = now;
+        }
+        add(earned);
+    }
+
+    private void add(long amount) {
+        tokens.accumulateAndGet(amount, (available, added) -> Math.min(capacity, available + added));
+    }
+}
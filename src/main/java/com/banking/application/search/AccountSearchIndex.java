@@ -0,0 +1,390 @@
+package com.banking.application.search;
+
+import com.banking.application.dto.AccountSearchPage;
+import com.banking.application.dto.AccountSnapshot;
+import com.banking.application.exception.SearchIndexUnavailableException;
+import com.banking.application.model.Account;
+import com.banking.application.service.impl.DatabaseTierClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory index of all accounts for searching by holder name and account number prefix
+ * without fetching the full account list from the database tier.
+ * <p>
+ * The index is built from the account list once the application is ready and rebuilt
+ * periodically to pick up changes made by other application tier instances. Changes made
+ * through this instance are applied immediately, including while a rebuild is running.
+ * <p>
+ * Holder names are split into tokens, lowercased and stripped of accents, so "José"
+ * is found by "jose". A query matches an account when every query token is a prefix of
+ * one of its name tokens.
+ */
+@Component
+public class AccountSearchIndex {
+
+    private static final Logger logger = LogManager.getLogger(AccountSearchIndex.class);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Sorts before every token character, so "ann" entries come before "anna" entries
+    private static final char KEY_SEPARATOR = '\0';
+
+    private static final int SELECTIVITY_PROBE_LIMIT = 256;
+
+    @Autowired
+    private DatabaseTierClient databaseTierClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.max-page-size:100}")
+    private int maxPageSize;
+
+    // A lock rather than a monitor, so that virtual threads waiting on it do not pin their carrier
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Index index;
+
+    // Changes made while a rebuild is fetching the account list, guarded by updateLock
+    private Map<String, AccountSnapshot> pendingChanges;
+
+    private Timer rebuildTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        rebuildTimer = Timer.builder("search.index.rebuild")
+                .description("Time to rebuild the account search index from the database tier")
+                .register(meterRegistry);
+        Gauge.builder("search.index.accounts", this, AccountSearchIndex::size)
+                .description("Accounts in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build the index in the background once the application is ready.
+     */
+    @EventListener
+    public void buildWhenReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Thread buildThread = new Thread(this::rebuild, "search-index-build");
+        buildThread.setDaemon(true);
+        buildThread.start();
+    }
+
+    /**
+     * Rebuild the index from the database tier's account list. The current index keeps
+     * serving searches until the new one replaces it.
+     */
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms:600000}",
+            initialDelayString = "${search.index.refresh-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            pendingChanges = new HashMap<>();
+        } finally {
+            updateLock.unlock();
+        }
+        try {
+            long start = System.nanoTime();
+            List<Account> accounts = databaseTierClient.getAllAccounts().block();
+            load(accounts != null ? accounts : Collections.emptyList());
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            logger.info("Search index built with {} accounts in {} ms", size(), elapsed / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.warn("Search index rebuild failed: {}", e.getMessage());
+        } finally {
+            updateLock.lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                updateLock.unlock();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Replace the index with one built from the given accounts. Changes recorded since
+     * the current rebuild started are applied on top, as they are newer than the list.
+     *
+     * @param accounts All accounts
+     */
+    public void load(Collection<Account> accounts) {
+        Index fresh = new Index();
+        for (Account account : accounts) {
+            fresh.put(AccountSnapshot.of(account));
+        }
+        updateLock.lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.values().forEach(fresh::put);
+            }
+            index = fresh;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Add or replace an account in the index.
+     *
+     * @param account The account
+     */
+    public void put(Account account) {
+        if (account == null) {
+            return;
+        }
+        AccountSnapshot snapshot = AccountSnapshot.of(account);
+        updateLock.lock();
+        try {
+            apply(snapshot);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Update the balance of an indexed account. Accounts not in the index are left to
+     * the next rebuild.
+     *
+     * @param accountNumber Account number
+     * @param newBalance New balance
+     */
+    public void updateBalance(String accountNumber, double newBalance) {
+        String key = normalizeNumber(accountNumber);
+        updateLock.lock();
+        try {
+            AccountSnapshot current = pendingChanges != null ? pendingChanges.get(key) : null;
+            if (current == null && index != null) {
+                current = index.byNumber.get(key);
+            }
+            if (current == null) {
+                return;
+            }
+            apply(new AccountSnapshot(current.getAccountNumber(), current.getAccountHolderName(),
+                    newBalance, current.getCreationDate()));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Search accounts by holder name, account number prefix or both.
+     *
+     * @param name Holder name query, or null
+     * @param numberPrefix Account number prefix, or null
+     * @param page Zero-based page number
+     * @param size Page size, capped at the configured maximum
+     * @return The requested page
+     * @throws SearchIndexUnavailableException If the index has not been built yet
+     */
+    public AccountSearchPage search(String name, String numberPrefix, int page, int size) {
+        Index current = index;
+        if (current == null) {
+            throw new SearchIndexUnavailableException();
+        }
+        int pageSize = Math.min(size, maxPageSize);
+        long skip = (long) page * pageSize;
+        List<AccountSnapshot> matches = new ArrayList<>(pageSize + 1);
+
+        String prefix = numberPrefix != null ? normalizeNumber(numberPrefix) : "";
+        List<String> queryTokens = name != null ? tokenize(name) : Collections.emptyList();
+
+        if (queryTokens.isEmpty()) {
+            for (AccountSnapshot snapshot : prefixRange(current.byNumber, prefix).values()) {
+                if (skip-- > 0) {
+                    continue;
+                }
+                matches.add(snapshot);
+                if (matches.size() > pageSize) {
+                    break;
+                }
+            }
+        } else {
+            // Scan the most selective token's range and check the others per candidate
+            String scanToken = mostSelective(current, queryTokens);
+            Set<String> seen = new HashSet<>();
+            for (String accountKey : prefixRange(current.byNameToken, scanToken).values()) {
+                if (!accountKey.startsWith(prefix) || !seen.add(accountKey)) {
+                    continue;
+                }
+                AccountSnapshot snapshot = current.byNumber.get(accountKey);
+                if (snapshot == null || (queryTokens.size() > 1
+                        && !matchesAll(tokenize(snapshot.getAccountHolderName()), queryTokens))) {
+                    continue;
+                }
+                if (skip-- > 0) {
+                    continue;
+                }
+                matches.add(snapshot);
+                if (matches.size() > pageSize) {
+                    break;
+                }
+            }
+        }
+
+        boolean hasMore = matches.size() > pageSize;
+        if (hasMore) {
+            matches.remove(pageSize);
+        }
+        return new AccountSearchPage(matches, page, pageSize, hasMore);
+    }
+
+    /**
+     * Get the number of indexed accounts.
+     *
+     * @return The account count, or 0 before the first build
+     */
+    public int size() {
+        Index current = index;
+        return current != null ? current.byNumber.size() : 0;
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    private void apply(AccountSnapshot snapshot) {
+        if (index != null) {
+            index.put(snapshot);
+        }
+        if (pendingChanges != null) {
+            pendingChanges.put(normalizeNumber(snapshot.getAccountNumber()), snapshot);
+        }
+    }
+
+    /**
+     * Pick the query token with the fewest index entries, counting each up to a small
+     * limit so that a common token such as a frequent surname costs little to rule out.
+     */
+    private static String mostSelective(Index current, List<String> queryTokens) {
+        if (queryTokens.size() == 1) {
+            return queryTokens.get(0);
+        }
+        String best = null;
+        int bestCount = Integer.MAX_VALUE;
+        for (String token : queryTokens) {
+            int count = 0;
+            for (String ignored : prefixRange(current.byNameToken, token).keySet()) {
+                if (++count >= SELECTIVITY_PROBE_LIMIT) {
+                    break;
+                }
+            }
+            if (count < bestCount || (count == bestCount && token.length() > best.length())) {
+                best = token;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    private static <V> NavigableMap<String, V> prefixRange(NavigableMap<String, V> map, String prefix) {
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean matchesAll(List<String> nameTokens, List<String> queryTokens) {
+        for (String queryToken : queryTokens) {
+            boolean found = false;
+            for (String nameToken : nameTokens) {
+                if (nameToken.startsWith(queryToken)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String normalizeNumber(String accountNumber) {
+        return accountNumber.trim().toUpperCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String name) {
+        if (name == null) {
+            return Collections.emptyList();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>(4);
+        for (String token : TOKEN_SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Sorted maps over immutable account snapshots. Searches read them without locking;
+     * writers are serialized by the owning index's update lock.
+     */
+    private static class Index {
+
+        // Normalized account number -> snapshot
+        final ConcurrentSkipListMap<String, AccountSnapshot> byNumber = new ConcurrentSkipListMap<>();
+
+        // Name token + separator + normalized account number -> normalized account number
+        final ConcurrentSkipListMap<String, String> byNameToken = new ConcurrentSkipListMap<>();
+
+        void put(AccountSnapshot snapshot) {
+            String key = normalizeNumber(snapshot.getAccountNumber());
+            AccountSnapshot previous = byNumber.put(key, snapshot);
+            List<String> tokens = tokenize(snapshot.getAccountHolderName());
+            if (previous != null) {
+                List<String> previousTokens = tokenize(previous.getAccountHolderName());
+                if (previousTokens.equals(tokens)) {
+                    return;
+                }
+                for (String token : previousTokens) {
+                    byNameToken.remove(token + KEY_SEPARATOR + key);
+                }
+            }
+            for (String token : tokens) {
+                byNameToken.put(token + KEY_SEPARATOR + key, key);
+            }
+        }
+    }
+}
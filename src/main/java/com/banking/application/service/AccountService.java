@@ -1,9 +1,16 @@
 package com.banking.application.service;
 
+import com.banking.application.dto.AccountCreateResult;
+import com.banking.application.dto.AccountSearchPage;
+import com.banking.application.dto.StatementSummary;
+import com.banking.application.exception.AccountNotFoundException;
 import com.banking.application.exception.InsufficientFundsException;
+import com.banking.application.exception.SearchIndexUnavailableException;
 import com.banking.application.model.Account;
 import com.banking.application.model.Transaction;
+import com.banking.application.statement.StatementGranularity;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -21,6 +28,15 @@ public interface AccountService {
      */
     Account createAccount(String accountNumber, String accountHolderName, double initialBalance);
     
+    /**
+     * Create several accounts, sending a bounded number of creates to the database
+     * tier at a time.
+     * 
+     * @param accounts The accounts to create
+     * @return One result per account, in the same order
+     */
+    List<AccountCreateResult> createAccounts(List<Account> accounts);
+    
     /**
      * Get an account by its account number.
      * 
@@ -29,6 +45,15 @@ public interface AccountService {
      */
     Account getAccount(String accountNumber);
     
+    /**
+     * Get several accounts at once. Cached accounts are served from the cache and
+     * the rest are fetched from the database tier in parallel.
+     * 
+     * @param accountNumbers Account numbers
+     * @return The accounts that were found, in request order
+     */
+    List<Account> getAccounts(List<String> accountNumbers);
+    
     /**
      * Get all accounts.
      * 
@@ -74,4 +99,29 @@ public interface AccountService {
      * @return List of transactions
      */
     List<Transaction> getTransactionHistory(String accountNumber);
+    
+    /**
+     * Get an account's transaction totals per day or month.
+     * 
+     * @param accountNumber Account number
+     * @param granularity Day or month periods
+     * @param from First date, inclusive, or null for no lower bound
+     * @param to Last date, inclusive, or null for no upper bound
+     * @return The statement summary
+     * @throws AccountNotFoundException If the account is not found
+     */
+    StatementSummary getStatementSummary(String accountNumber, StatementGranularity granularity,
+                                         LocalDate from, LocalDate to);
+    
+    /**
+     * Search accounts by holder name and/or account number prefix.
+     * 
+     * @param name Holder name query, matched by token prefix, or null
+     * @param numberPrefix Account number prefix, or null
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return The requested page of matching accounts
+     * @throws SearchIndexUnavailableException If the search index has not been built yet
+     */
+    AccountSearchPage searchAccounts(String name, String numberPrefix, int page, int size);
 }
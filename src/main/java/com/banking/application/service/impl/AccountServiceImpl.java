@@ -1,23 +1,40 @@
 package com.banking.application.service.impl;
 
+import com.banking.application.dto.AccountCreateResult;
+import com.banking.application.dto.AccountSearchPage;
+import com.banking.application.dto.StatementSummary;
 import com.banking.application.exception.AccountNotFoundException;
 import com.banking.application.exception.InsufficientFundsException;
+import com.banking.application.exception.WriteOutcomeUnknownException;
 import com.banking.application.model.Account;
 import com.banking.application.model.Transaction;
+import com.banking.application.resilience.DeadlineContext;
+import com.banking.application.search.AccountSearchIndex;
 import com.banking.application.service.AccountService;
+import com.banking.application.statement.StatementGranularity;
+import com.banking.application.statement.StatementRollupStore;
+import com.banking.application.trace.RequestTraceContext;
+import io.micrometer.core.annotation.Timed;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -28,68 +45,141 @@ public class AccountServiceImpl implements AccountService {
 
     private static final Logger logger = LogManager.getLogger(AccountServiceImpl.class);
     
+    private static final String SERVICE_TIMER = "account.service.calls";
+    
+    @Autowired
+    private DatabaseTierClient databaseTierClient;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private AccountSearchIndex searchIndex;
+    
     @Autowired
-    private WebClient webClient;
+    private StatementRollupStore statementRollups;
+    
+    @Value("${database.tier.batch-concurrency:8}")
+    private int batchConcurrency;
     
     @Override
+    @Timed(SERVICE_TIMER)
     public Account createAccount(String accountNumber, String accountHolderName, double initialBalance) {
         logger.info("Creating account: {} for {}", accountNumber, accountHolderName);
         
         Account account = new Account(accountNumber, accountHolderName, initialBalance);
         
-        return webClient.post()
-                .uri("/api/accounts")
-                .body(Mono.just(account), Account.class)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError(), 
-                        response -> Mono.error(new RuntimeException("Account already exists")))
-                .bodyToMono(Account.class)
+        Account created = databaseTierClient.createAccount(account).block();
+        searchIndex.put(created);
+        return created;
+    }
+    
+    @Override
+    @Timed(SERVICE_TIMER)
+    public List<AccountCreateResult> createAccounts(List<Account> accounts) {
+        logger.info("Creating {} accounts", accounts.size());
+        
+        // Results keep the input order while up to batchConcurrency creates are in flight
+        List<AccountCreateResult> results = Flux.fromIterable(accounts)
+                .flatMapSequential(account -> databaseTierClient.createAccount(account)
+                        .map(AccountCreateResult::success)
+                        .onErrorResume(e -> Mono.just(AccountCreateResult.failure(account, e.getMessage()))),
+                        batchConcurrency)
+                .collectList()
+                .contextWrite(RequestTraceContext.propagate())
+                .contextWrite(DeadlineContext.propagate())
                 .block();
+        
+        for (AccountCreateResult result : results) {
+            if (result.isSuccess()) {
+                searchIndex.put(result.getAccount());
+            }
+        }
+        return results;
     }
     
     @Override
+    @Timed(SERVICE_TIMER)
     @Cacheable(value = "accounts", key = "#accountNumber")
     public Account getAccount(String accountNumber) {
         logger.info("Getting account: {}", accountNumber);
         
-        return webClient.get()
-                .uri("/api/accounts/{accountNumber}", accountNumber)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError(), 
-                        response -> Mono.error(new AccountNotFoundException(accountNumber)))
-                .bodyToMono(Account.class)
+        return databaseTierClient.getAccount(accountNumber).block();
+    }
+    
+    @Override
+    @Timed(SERVICE_TIMER)
+    public List<Account> getAccounts(List<String> accountNumbers) {
+        logger.info("Getting {} accounts", accountNumbers.size());
+        
+        Cache cache = cacheManager.getCache("accounts");
+        Map<String, Account> found = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+        for (String accountNumber : accountNumbers) {
+            Account cached = cache != null ? cache.get(accountNumber, Account.class) : null;
+            if (cached != null) {
+                found.put(accountNumber, cached);
+            } else {
+                misses.add(accountNumber);
+            }
+        }
+        
+        // Fetch the misses in parallel; unknown accounts are left out of the result
+        List<Account> fetched = Flux.fromIterable(misses)
+                .flatMap(accountNumber -> databaseTierClient.getAccount(accountNumber)
+                        .onErrorResume(AccountNotFoundException.class, e -> Mono.empty()),
+                        batchConcurrency)
+                .collectList()
+                .contextWrite(RequestTraceContext.propagate())
+                .contextWrite(DeadlineContext.propagate())
                 .block();
+        
+        if (fetched != null) {
+            for (Account account : fetched) {
+                found.put(account.getAccountNumber(), account);
+                if (cache != null) {
+                    cache.put(account.getAccountNumber(), account);
+                }
+            }
+        }
+        
+        List<Account> accounts = new ArrayList<>(accountNumbers.size());
+        for (String accountNumber : accountNumbers) {
+            Account account = found.get(accountNumber);
+            if (account != null) {
+                accounts.add(account);
+            }
+        }
+        return accounts;
     }
     
     @Override
+    @Timed(SERVICE_TIMER)
     @Cacheable(value = "accounts", key = "'all'")
     public List<Account> getAllAccounts() {
         logger.info("Getting all accounts");
         
-        Account[] accounts = webClient.get()
-                .uri("/api/accounts")
-                .retrieve()
-                .bodyToMono(Account[].class)
-                .block();
-        
-        return Arrays.asList(accounts != null ? accounts : new Account[0]);
+        return databaseTierClient.getAllAccounts().block();
     }
     
     @Override
+    @Timed(SERVICE_TIMER)
     @CacheEvict(value = "accounts", key = "#accountNumber")
     public Account deposit(String accountNumber, double amount) {
-        logger.info("Depositing {} to account {}", amount, accountNumber);
+        logger.info("Depositing {} to account {}", Unbox.box(amount), accountNumber);
         
         // First, get the current account
         Account account = getAccount(accountNumber);
         double newBalance = account.getBalance() + amount;
         
-        // Update the balance in the database
-        updateBalance(accountNumber, newBalance);
-        
-        // Record the transaction
-        recordTransaction(accountNumber, "DEPOSIT", amount, newBalance, 
-                "Deposit", null, accountNumber);
+        applyWrites("deposit", () -> {
+            // Update the balance in the database
+            updateBalance(accountNumber, newBalance);
+            
+            // Record the transaction
+            recordTransaction(accountNumber, "DEPOSIT", amount, newBalance, 
+                    "Deposit", null, accountNumber);
+        });
         
         // Update the account object
         account.setBalance(newBalance);
@@ -97,9 +187,10 @@ public class AccountServiceImpl implements AccountService {
     }
     
     @Override
+    @Timed(SERVICE_TIMER)
     @CacheEvict(value = "accounts", key = "#accountNumber")
     public Account withdraw(String accountNumber, double amount) throws InsufficientFundsException {
-        logger.info("Withdrawing {} from account {}", amount, accountNumber);
+        logger.info("Withdrawing {} from account {}", Unbox.box(amount), accountNumber);
         
         // First, get the current account
         Account account = getAccount(accountNumber);
@@ -111,12 +202,14 @@ public class AccountServiceImpl implements AccountService {
         
         double newBalance = account.getBalance() - amount;
         
-        // Update the balance in the database
-        updateBalance(accountNumber, newBalance);
-        
-        // Record the transaction
-        recordTransaction(accountNumber, "WITHDRAWAL", amount, newBalance, 
-                "Withdrawal", accountNumber, null);
+        applyWrites("withdraw", () -> {
+            // Update the balance in the database
+            updateBalance(accountNumber, newBalance);
+            
+            // Record the transaction
+            recordTransaction(accountNumber, "WITHDRAWAL", amount, newBalance, 
+                    "Withdrawal", accountNumber, null);
+        });
         
         // Update the account object
         account.setBalance(newBalance);
@@ -124,10 +217,11 @@ public class AccountServiceImpl implements AccountService {
     }
     
     @Override
+    @Timed(SERVICE_TIMER)
     public boolean transfer(String sourceAccountNumber, String destinationAccountNumber, double amount) 
             throws InsufficientFundsException {
         logger.info("Transferring {} from account {} to account {}", 
-                amount, sourceAccountNumber, destinationAccountNumber);
+                Unbox.box(amount), sourceAccountNumber, destinationAccountNumber);
         
         // First, get the source account
         Account sourceAccount = getAccount(sourceAccountNumber);
@@ -140,38 +234,72 @@ public class AccountServiceImpl implements AccountService {
             throw new InsufficientFundsException(amount, sourceAccount.getBalance());
         }
         
-        // Update source account
         double sourceNewBalance = sourceAccount.getBalance() - amount;
-        updateBalance(sourceAccountNumber, sourceNewBalance);
-        
-        // Record outgoing transaction
-        recordTransaction(sourceAccountNumber, "TRANSFER_OUT", amount, sourceNewBalance, 
-                "Transfer to account " + destinationAccountNumber, 
-                sourceAccountNumber, destinationAccountNumber);
-        
-        // Update destination account
         double destNewBalance = destinationAccount.getBalance() + amount;
-        updateBalance(destinationAccountNumber, destNewBalance);
-        
-        // Record incoming transaction
-        recordTransaction(destinationAccountNumber, "TRANSFER_IN", amount, destNewBalance, 
-                "Transfer from account " + sourceAccountNumber, 
-                sourceAccountNumber, destinationAccountNumber);
+        applyWrites("transfer", () -> {
+            // Update source account
+            updateBalance(sourceAccountNumber, sourceNewBalance);
+            
+            // Record outgoing transaction
+            recordTransaction(sourceAccountNumber, "TRANSFER_OUT", amount, sourceNewBalance, 
+                    "Transfer to account " + destinationAccountNumber, 
+                    sourceAccountNumber, destinationAccountNumber);
+            
+            // Update destination account
+            updateBalance(destinationAccountNumber, destNewBalance);
+            
+            // Record incoming transaction
+            recordTransaction(destinationAccountNumber, "TRANSFER_IN", amount, destNewBalance, 
+                    "Transfer from account " + sourceAccountNumber, 
+                    sourceAccountNumber, destinationAccountNumber);
+        });
         
         return true;
     }
     
     @Override
+    @Timed(SERVICE_TIMER)
     public List<Transaction> getTransactionHistory(String accountNumber) {
         logger.info("Getting transaction history for account {}", accountNumber);
         
-        Transaction[] transactions = webClient.get()
-                .uri("/api/transactions/account/{accountNumber}", accountNumber)
-                .retrieve()
-                .bodyToMono(Transaction[].class)
-                .block();
+        return databaseTierClient.getTransactionHistory(accountNumber).block();
+    }
+    
+    @Override
+    @Timed(SERVICE_TIMER)
+    public StatementSummary getStatementSummary(String accountNumber, StatementGranularity granularity,
+                                                LocalDate from, LocalDate to) {
+        // Fails with AccountNotFoundException rather than summarizing an empty history
+        getAccount(accountNumber);
         
-        return Arrays.asList(transactions != null ? transactions : new Transaction[0]);
+        return statementRollups.getSummary(accountNumber, granularity, from, to);
+    }
+    
+    @Override
+    @Timed(SERVICE_TIMER)
+    public AccountSearchPage searchAccounts(String name, String numberPrefix, int page, int size) {
+        return searchIndex.search(name, numberPrefix, page, size);
+    }
+    
+    /**
+     * Run the writes of a mutation. The request's deadline is checked once, before the
+     * first write; after that the writes run to completion under the per-call timeout,
+     * so a late request cannot stop a transfer between its debit and its credit. Once the
+     * first write is sent the mutation may be partly applied, so any failure is reported
+     * as an unknown outcome.
+     * 
+     * @param operation Mutation name
+     * @param writes The database tier writes
+     * @throws WriteOutcomeUnknownException If a write failed
+     */
+    private void applyWrites(String operation, Runnable writes) {
+        databaseTierClient.checkDeadline(operation);
+        try {
+            writes.run();
+        } catch (RuntimeException e) {
+            logger.error("{} failed after writing to the database tier: {}", operation, e.getMessage());
+            throw new WriteOutcomeUnknownException(operation, e);
+        }
     }
     
     /**
@@ -182,19 +310,10 @@ public class AccountServiceImpl implements AccountService {
      */
     @CacheEvict(value = "accounts", allEntries = true)
     private void updateBalance(String accountNumber, double newBalance) {
-        logger.info("Updating balance for account {}: new balance = {}", accountNumber, newBalance);
-        
-        Map<String, Double> balanceMap = new HashMap<>();
-        balanceMap.put("balance", newBalance);
-        
-        webClient.put()
-                .uri("/api/accounts/{accountNumber}/balance", accountNumber)
-                .body(Mono.just(balanceMap), Map.class)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError(), 
-                        response -> Mono.error(new AccountNotFoundException(accountNumber)))
-                .bodyToMono(Map.class)
-                .block();
+        logger.info("Updating balance for account {}: new balance = {}", accountNumber, Unbox.box(newBalance));
+        
+        databaseTierClient.updateBalance(accountNumber, newBalance).block();
+        searchIndex.updateBalance(accountNumber, newBalance);
     }
     
     /**
@@ -212,10 +331,11 @@ public class AccountServiceImpl implements AccountService {
                                   double resultingBalance, String description, 
                                   String sourceAccount, String destinationAccount) {
         logger.info("Recording transaction: account={}, type={}, amount={}", 
-                accountNumber, transactionType, amount);
+                accountNumber, transactionType, Unbox.box(amount));
         
         Map<String, Object> transactionData = new HashMap<>();
-        transactionData.put("transactionId", UUID.randomUUID().toString());
+        String transactionId = UUID.randomUUID().toString();
+        transactionData.put("transactionId", transactionId);
         transactionData.put("accountNumber", accountNumber);
         transactionData.put("transactionType", transactionType);
         transactionData.put("amount", amount);
@@ -224,11 +344,7 @@ public class AccountServiceImpl implements AccountService {
         transactionData.put("sourceAccount", sourceAccount);
         transactionData.put("destinationAccount", destinationAccount);
         
-        webClient.post()
-                .uri("/api/transactions")
-                .body(Mono.just(transactionData), Map.class)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .block();
+        databaseTierClient.recordTransaction(transactionData).block();
+        statementRollups.record(accountNumber, transactionId, transactionType, amount, resultingBalance);
     }
 }
@@ -0,0 +1,324 @@
+package com.banking.application.service.impl;
+
+import com.banking.application.exception.AccountNotFoundException;
+import com.banking.application.exception.DeadlineExceededException;
+import com.banking.application.model.Account;
+import com.banking.application.model.Transaction;
+import com.banking.application.resilience.Deadline;
+import com.banking.application.resilience.DeadlineContext;
+import com.banking.application.resilience.RetryBudget;
+import com.banking.application.trace.RequestTraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking client for the database tier REST API.
+ * The service layer composes these calls and decides where to block.
+ * <p>
+ * Every call times out after {@code database.tier.call-timeout-ms}. A read also times
+ * out earlier when the request it serves reaches its {@link Deadline}, and a read
+ * started after the deadline fails without being sent. Either way the call fails with a
+ * {@link DeadlineExceededException}. Reads are retried on 5xx responses, connection
+ * errors and per-call timeouts, with jittered exponential backoff, as long as the
+ * {@link RetryBudget} allows.
+ * <p>
+ * Writes are never retried, as the database tier cannot tell a retry from a second
+ * write, and are bounded by the per-call timeout only. A write that times out
+ * client-side may still have been applied, so its outcome is unknown. Cutting writes
+ * short at the deadline would only make that more likely, and would abandon the
+ * remaining writes of a flow halfway; callers instead check the deadline once with
+ * {@link #checkDeadline(String)} before a flow's first write.
+ */
+@Component
+public class DatabaseTierClient {
+
+    private static final Logger logger = LogManager.getLogger(DatabaseTierClient.class);
+
+    @Autowired
+    private WebClient webClient;
+
+    @Autowired
+    private RetryBudget retryBudget;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${database.tier.call-timeout-ms:30000}")
+    private long callTimeoutMs;
+
+    @Value("${database.tier.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${database.tier.retry.initial-backoff-ms:50}")
+    private long initialBackoffMs;
+
+    @Value("${database.tier.retry.max-backoff-ms:1000}")
+    private long maxBackoffMs;
+
+    @Value("${database.tier.retry.jitter:0.5}")
+    private double jitter;
+
+    private long callTimeoutNanos;
+    private Retry readRetry;
+    private Counter deadlineExceededCounter;
+    private Counter callTimeoutCounter;
+    private Counter retryCounter;
+    private Counter budgetExhaustedCounter;
+
+    @PostConstruct
+    public void init() {
+        callTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(callTimeoutMs);
+        deadlineExceededCounter = timeoutCounter("deadline");
+        callTimeoutCounter = timeoutCounter("call-timeout");
+        retryCounter = retryCounter("retried");
+        budgetExhaustedCounter = retryCounter("budget-exhausted");
+        readRetry = Retry.backoff(Math.max(0, maxAttempts - 1), Duration.ofMillis(initialBackoffMs))
+                .maxBackoff(Duration.ofMillis(maxBackoffMs))
+                .jitter(jitter)
+                .filter(this::mayRetry)
+                .doBeforeRetry(signal -> {
+                    retryCounter.increment();
+                    logger.debug("Retrying database tier read after {}", signal.failure().toString());
+                })
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private Counter timeoutCounter(String cause) {
+        return Counter.builder("database.tier.deadline.exceeded")
+                .description("Database tier calls that ran out of time")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    private Counter retryCounter(String outcome) {
+        return Counter.builder("database.tier.retries")
+                .description("Database tier read retries by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create an account in the database tier.
+     *
+     * @param account The account to create
+     * @return The created account
+     */
+    public Mono<Account> createAccount(Account account) {
+        return webClient.post()
+                .uri("/api/accounts")
+                .body(Mono.just(account), Account.class)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError(), 
+                        response -> Mono.error(new RuntimeException("Account already exists")))
+                .bodyToMono(Account.class)
+                .transform(call -> write("createAccount", call))
+                .transform(call -> beforeDeadline("createAccount", call));
+    }
+
+    /**
+     * Fetch an account from the database tier.
+     *
+     * @param accountNumber Account number
+     * @return The account, or an {@link AccountNotFoundException} error
+     */
+    public Mono<Account> getAccount(String accountNumber) {
+        return webClient.get()
+                .uri("/api/accounts/{accountNumber}", accountNumber)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError(), 
+                        response -> Mono.error(new AccountNotFoundException(accountNumber)))
+                .bodyToMono(Account.class)
+                .transform(call -> read("getAccount", call));
+    }
+
+    /**
+     * Fetch all accounts from the database tier.
+     *
+     * @return List of all accounts
+     */
+    public Mono<List<Account>> getAllAccounts() {
+        return webClient.get()
+                .uri("/api/accounts")
+                .retrieve()
+                .bodyToMono(Account[].class)
+                .map(accounts -> Arrays.asList(accounts))
+                .defaultIfEmpty(Collections.emptyList())
+                .transform(call -> read("getAllAccounts", call));
+    }
+
+    /**
+     * Overwrite an account's balance in the database tier.
+     *
+     * @param accountNumber Account number
+     * @param newBalance New balance
+     * @return Completion signal
+     */
+    public Mono<Void> updateBalance(String accountNumber, double newBalance) {
+        Map<String, Double> balanceMap = new HashMap<>();
+        balanceMap.put("balance", newBalance);
+        
+        return webClient.put()
+                .uri("/api/accounts/{accountNumber}/balance", accountNumber)
+                .body(Mono.just(balanceMap), Map.class)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError(), 
+                        response -> Mono.error(new AccountNotFoundException(accountNumber)))
+                .bodyToMono(Map.class)
+                .then()
+                .transform(call -> write("updateBalance", call));
+    }
+
+    /**
+     * Record a transaction in the database tier.
+     *
+     * @param transactionData Transaction fields as expected by the database tier
+     * @return Completion signal
+     */
+    public Mono<Void> recordTransaction(Map<String, Object> transactionData) {
+        return webClient.post()
+                .uri("/api/transactions")
+                .body(Mono.just(transactionData), Map.class)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .then()
+                .transform(call -> write("recordTransaction", call));
+    }
+
+    /**
+     * Fetch the transaction history for an account.
+     *
+     * @param accountNumber Account number
+     * @return List of transactions
+     */
+    public Mono<List<Transaction>> getTransactionHistory(String accountNumber) {
+        return webClient.get()
+                .uri("/api/transactions/account/{accountNumber}", accountNumber)
+                .retrieve()
+                .bodyToMono(Transaction[].class)
+                .map(transactions -> Arrays.asList(transactions))
+                .defaultIfEmpty(Collections.emptyList())
+                .transform(call -> read("getTransactionHistory", call));
+    }
+
+    private <T> Mono<T> read(String operation, Mono<T> call) {
+        // Retries resubscribe on a timer thread, which cannot see the request thread's
+        // deadline and trace, so they are captured here
+        return withDeadline(operation, call)
+                .retryWhen(readRetry)
+                .contextWrite(DeadlineContext.propagate())
+                .contextWrite(RequestTraceContext.propagate());
+    }
+
+    /**
+     * Fail if the current thread's request has passed its deadline. Mutations call this
+     * before their first write, and from then on run to completion under the per-call
+     * timeout only.
+     *
+     * @param operation The mutation, for the error
+     * @throws DeadlineExceededException If the deadline has passed
+     */
+    public void checkDeadline(String operation) {
+        Deadline deadline = DeadlineContext.current();
+        if (deadline != null && deadline.isExpired()) {
+            throw deadlinePassed(operation);
+        }
+    }
+
+    private <T> Mono<T> write(String operation, Mono<T> call) {
+        return call
+                .timeout(Duration.ofNanos(callTimeoutNanos))
+                .onErrorMap(TimeoutException.class, e -> {
+                    callTimeoutCounter.increment();
+                    return new CallTimeoutException(operation, callTimeoutMs);
+                });
+    }
+
+    /**
+     * Fail a single-write call without sending it if its request's deadline has passed.
+     */
+    private <T> Mono<T> beforeDeadline(String operation, Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = DeadlineContext.current(context);
+            return deadline != null && deadline.isExpired() ? Mono.error(deadlinePassed(operation)) : call;
+        });
+    }
+
+    private DeadlineExceededException deadlinePassed(String operation) {
+        deadlineExceededCounter.increment();
+        return new DeadlineExceededException(operation, "Request deadline passed before calling the database tier");
+    }
+
+    /**
+     * Bound one attempt of a call by the per-call timeout and the time left until the
+     * request's deadline, whichever is shorter. Evaluated on every subscription, so each
+     * retry gets what is left of the deadline.
+     */
+    private <T> Mono<T> withDeadline(String operation, Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = DeadlineContext.current(context);
+            long remainingNanos = deadline != null ? deadline.remainingNanos() : Long.MAX_VALUE;
+            if (remainingNanos <= 0) {
+                return Mono.error(deadlinePassed(operation));
+            }
+            retryBudget.recordCall();
+            boolean deadlineBound = remainingNanos < callTimeoutNanos;
+            return call
+                    .timeout(Duration.ofNanos(deadlineBound ? remainingNanos : callTimeoutNanos))
+                    .onErrorMap(TimeoutException.class, e -> {
+                        if (deadlineBound) {
+                            deadlineExceededCounter.increment();
+                            return new DeadlineExceededException(operation,
+                                    "Request deadline passed while waiting for the database tier");
+                        }
+                        callTimeoutCounter.increment();
+                        return new CallTimeoutException(operation, callTimeoutMs);
+                    });
+        });
+    }
+
+    private boolean mayRetry(Throwable failure) {
+        boolean retryable = failure instanceof CallTimeoutException
+                || failure instanceof WebClientRequestException
+                || (failure instanceof WebClientResponseException
+                        && ((WebClientResponseException) failure).getStatusCode().is5xxServerError());
+        if (!retryable) {
+            return false;
+        }
+        if (!retryBudget.tryAcquire()) {
+            budgetExhaustedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * A per-call timeout, as opposed to the request's deadline passing; a read may
+     * still be retried within the deadline, a write's outcome is unknown.
+     */
+    private static class CallTimeoutException extends DeadlineExceededException {
+
+        CallTimeoutException(String operation, long callTimeoutMs) {
+            super(operation, "Database tier did not answer within " + callTimeoutMs + " ms");
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.banking.application.service.rmi;
 
+import com.banking.application.dto.AccountOperation;
+import com.banking.application.dto.AccountSnapshot;
+import com.banking.application.dto.OperationResult;
+
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Remote interface for retrieving accounts.
@@ -29,4 +35,36 @@ public interface AccountRegistry extends Remote {
      */
     RemoteAccount createAccount(String accountNumber, String accountHolderName, double initialBalance) 
             throws RemoteException;
+    
+    /**
+     * Get snapshots of several accounts in one call.
+     * 
+     * @param accountNumbers The account numbers
+     * @return Snapshots of the accounts that exist, in request order
+     * @throws RemoteException If a remote error occurs
+     */
+    List<AccountSnapshot> getAccounts(List<String> accountNumbers) throws RemoteException;
+    
+    /**
+     * Get the balances of several accounts in one call.
+     * 
+     * @param accountNumbers The account numbers
+     * @return Balances keyed by account number, in request order; unknown accounts are omitted
+     * @throws RemoteException If a remote error occurs
+     */
+    Map<String, Double> getBalances(List<String> accountNumbers) throws RemoteException;
+    
+    /**
+     * Run a list of deposits, withdrawals and transfers.
+     * Operations that share an account, directly or through a transfer, run in list
+     * order. Operations on unrelated accounts may run in parallel and in any order, so
+     * a client that needs an ordering across different accounts must send separate
+     * calls. Each operation is applied independently, so a failure does not stop the
+     * rest.
+     * 
+     * @param operations The operations to run
+     * @return One result per operation, in the same order
+     * @throws RemoteException If a remote error occurs
+     */
+    List<OperationResult> executeOperations(List<AccountOperation> operations) throws RemoteException;
 }
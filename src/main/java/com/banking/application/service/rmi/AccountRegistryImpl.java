@@ -1,14 +1,30 @@
 package com.banking.application.service.rmi;
 
+import com.banking.application.dto.AccountOperation;
+import com.banking.application.dto.AccountSnapshot;
+import com.banking.application.dto.OperationResult;
 import com.banking.application.exception.AccountNotFoundException;
+import com.banking.application.exception.InsufficientFundsException;
 import com.banking.application.model.Account;
 import com.banking.application.service.AccountService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Implementation of the AccountRegistry for RMI clients.
@@ -22,6 +38,15 @@ public class AccountRegistryImpl implements AccountRegistry {
     @Autowired
     private AccountService accountService;
     
+    @Autowired
+    private RemoteAccountPool remoteAccountPool;
+    
+    @Autowired
+    private RmiCallGuard callGuard;
+    
+    @Value("${database.tier.batch-concurrency:8}")
+    private int batchConcurrency;
+    
     /**
      * Constructor.
      */
@@ -34,8 +59,9 @@ public class AccountRegistryImpl implements AccountRegistry {
         logger.info("RMI request to get account: {}", accountNumber);
         
         try {
-            Account account = accountService.getAccount(accountNumber);
-            return new RemoteAccountImpl(account, accountService);
+            Account account = callGuard.invoke("AccountRegistry.getAccount", 
+                    () -> accountService.getAccount(accountNumber));
+            return remoteAccountPool.acquire(account);
         } catch (AccountNotFoundException e) {
             logger.warn("Account not found: {}", accountNumber);
             return null;
@@ -51,11 +77,156 @@ public class AccountRegistryImpl implements AccountRegistry {
         logger.info("RMI request to create account: {}", accountNumber);
         
         try {
-            Account account = accountService.createAccount(accountNumber, accountHolderName, initialBalance);
-            return new RemoteAccountImpl(account, accountService);
+            Account account = callGuard.invoke("AccountRegistry.createAccount", 
+                    () -> accountService.createAccount(accountNumber, accountHolderName, initialBalance));
+            return remoteAccountPool.acquire(account);
         } catch (Exception e) {
             logger.error("Error creating account {}: {}", accountNumber, e.getMessage(), e);
             throw new RemoteException("Error creating account", e);
         }
     }
-}
\ No newline at end of file
+    
+    @Override
+    public List<AccountSnapshot> getAccounts(List<String> accountNumbers) throws RemoteException {
+        logger.info("RMI request to get {} accounts", accountNumbers.size());
+        
+        try {
+            List<AccountSnapshot> snapshots = new ArrayList<>(accountNumbers.size());
+            List<Account> accounts = callGuard.invoke("AccountRegistry.getAccounts", 
+                    () -> accountService.getAccounts(accountNumbers));
+            for (Account account : accounts) {
+                snapshots.add(AccountSnapshot.of(account));
+            }
+            return snapshots;
+        } catch (Exception e) {
+            logger.error("Error getting accounts: {}", e.getMessage(), e);
+            throw new RemoteException("Error getting accounts", e);
+        }
+    }
+    
+    @Override
+    public Map<String, Double> getBalances(List<String> accountNumbers) throws RemoteException {
+        logger.info("RMI request to get {} balances", accountNumbers.size());
+        
+        try {
+            Map<String, Double> balances = new LinkedHashMap<>();
+            List<Account> accounts = callGuard.invoke("AccountRegistry.getBalances", 
+                    () -> accountService.getAccounts(accountNumbers));
+            for (Account account : accounts) {
+                balances.put(account.getAccountNumber(), account.getBalance());
+            }
+            return balances;
+        } catch (Exception e) {
+            logger.error("Error getting balances: {}", e.getMessage(), e);
+            throw new RemoteException("Error getting balances", e);
+        }
+    }
+    
+    /**
+     * Executes the operations in parallel, up to {@code database.tier.batch-concurrency}
+     * at a time. Operations sharing an account run one after another in the order given,
+     * since each one reads and then rewrites the balance. Every operation takes its own
+     * dispatch permit and deadline, so a slow or rejected operation is reported in its
+     * own result instead of failing the batch.
+     */
+    @Override
+    public List<OperationResult> executeOperations(List<AccountOperation> operations) throws RemoteException {
+        logger.info("RMI request to execute {} operations", operations.size());
+        
+        AtomicReferenceArray<OperationResult> results = new AtomicReferenceArray<>(operations.size());
+        Flux.fromIterable(chains(operations))
+                .flatMap(chain -> Mono.fromRunnable(() -> {
+                            for (int index : chain) {
+                                results.set(index, executeGuarded(operations.get(index)));
+                            }
+                        }).subscribeOn(Schedulers.boundedElastic()),
+                        batchConcurrency)
+                .then()
+                .block();
+        
+        List<OperationResult> ordered = new ArrayList<>(operations.size());
+        for (int i = 0; i < results.length(); i++) {
+            ordered.add(results.get(i));
+        }
+        return ordered;
+    }
+    
+    /**
+     * Group operation indexes so that operations touching a common account, directly or
+     * through a transfer, end up in the same chain in their original order.
+     */
+    private static Collection<List<Integer>> chains(List<AccountOperation> operations) {
+        int[] parent = new int[operations.size()];
+        Map<String, Integer> firstByAccount = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            parent[i] = i;
+            AccountOperation operation = operations.get(i);
+            for (String accountNumber : Arrays.asList(
+                    operation.getAccountNumber(), operation.getDestinationAccountNumber())) {
+                if (accountNumber != null) {
+                    Integer first = firstByAccount.putIfAbsent(accountNumber, i);
+                    if (first != null) {
+                        parent[root(parent, i)] = root(parent, first);
+                    }
+                }
+            }
+        }
+        Map<Integer, List<Integer>> chains = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            chains.computeIfAbsent(root(parent, i), root -> new ArrayList<>()).add(i);
+        }
+        return chains.values();
+    }
+    
+    private static int root(int[] parent, int index) {
+        while (parent[index] != index) {
+            parent[index] = parent[parent[index]];
+            index = parent[index];
+        }
+        return index;
+    }
+    
+    private OperationResult executeGuarded(AccountOperation operation) {
+        try {
+            return callGuard.invoke("AccountRegistry.executeOperation", () -> execute(operation));
+        } catch (RemoteException e) {
+            logger.warn("Operation {} not dispatched: {}", operation, e.getMessage());
+            return OperationResult.failure(operation, e.getMessage());
+        }
+    }
+    
+    private OperationResult execute(AccountOperation operation) {
+        if (operation.getType() == null || operation.getAccountNumber() == null) {
+            return OperationResult.failure(operation, "Operation type and account number are required");
+        }
+        if (operation.getAmount() <= 0) {
+            return OperationResult.failure(operation, "Amount must be positive");
+        }
+        
+        try {
+            switch (operation.getType()) {
+                case DEPOSIT:
+                    return OperationResult.success(operation, 
+                            accountService.deposit(operation.getAccountNumber(), operation.getAmount()).getBalance());
+                case WITHDRAW:
+                    return OperationResult.success(operation, 
+                            accountService.withdraw(operation.getAccountNumber(), operation.getAmount()).getBalance());
+                case TRANSFER:
+                    if (operation.getDestinationAccountNumber() == null) {
+                        return OperationResult.failure(operation, "Destination account number is required");
+                    }
+                    accountService.transfer(operation.getAccountNumber(), 
+                            operation.getDestinationAccountNumber(), operation.getAmount());
+                    return OperationResult.success(operation, Double.NaN);
+                default:
+                    return OperationResult.failure(operation, "Unsupported operation type: " + operation.getType());
+            }
+        } catch (InsufficientFundsException | AccountNotFoundException e) {
+            logger.warn("Operation {} rejected: {}", operation, e.getMessage());
+            return OperationResult.failure(operation, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error executing operation {}: {}", operation, e.getMessage(), e);
+            return OperationResult.failure(operation, e.getMessage());
+        }
+    }
+}
@@ -8,89 +8,173 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.rmi.RemoteException;
-import java.rmi.server.UnicastRemoteObject;
+import java.rmi.server.Unreferenced;
 import java.util.Date;
 import java.util.List;
 
 /**
  * Implementation of the RemoteAccount interface for RMI clients.
+ * Instances are exported and reused by {@link RemoteAccountPool} rather than
+ * exporting themselves on construction. The RMI distributed garbage collector tells
+ * an instance when no client holds its stub any more, and only then may the pool
+ * unexport it.
+ * <p>
+ * Every hand-out of the stub starts a new generation, and a notice only covers the
+ * generation it arrived in. A notice that arrives within the hand-out grace period is
+ * ignored: it may be the previous holder's late clean call, racing the new holder's
+ * dirty call. The object then stays exported until the next notice, and the pool
+ * keeps at most one object per account either way.
  */
-public class RemoteAccountImpl extends UnicastRemoteObject implements RemoteAccount {
+public class RemoteAccountImpl implements RemoteAccount, Unreferenced {
     
     private static final Logger logger = LogManager.getLogger(RemoteAccountImpl.class);
     
-    private final Account account;
+    private volatile Account account;
     private final AccountService accountService;
+    private final RmiCallGuard callGuard;
+    private final long handOutGraceNanos;
+    private volatile long lastAccessNanos;
+    private long generation;
+    private long handedOutNanos;
+    private long unreferencedGeneration = -1;
     
     /**
-     * Constructor.
+     * Constructor. The new object counts as handed out.
      * 
      * @param account The account
      * @param accountService The account service
-     * @throws RemoteException If a remote error occurs
+     * @param callGuard Limits and times calls into the service layer
+     * @param handOutGraceNanos How long after a hand-out an unreferenced notice is not trusted
      */
-    public RemoteAccountImpl(Account account, AccountService accountService) throws RemoteException {
-        super();
+    public RemoteAccountImpl(Account account, AccountService accountService, RmiCallGuard callGuard,
+                             long handOutGraceNanos) {
         this.account = account;
         this.accountService = accountService;
+        this.callGuard = callGuard;
+        this.handOutGraceNanos = handOutGraceNanos;
+        this.lastAccessNanos = System.nanoTime();
+        this.handedOutNanos = lastAccessNanos;
+    }
+    
+    /**
+     * Replace the cached account details with a fresher copy and mark this object as
+     * handed out again.
+     * 
+     * @param account The latest account details
+     */
+    synchronized void refresh(Account account) {
+        this.account = account;
+        // A new stub is about to be handed out, so earlier notices no longer apply
+        generation++;
+        handedOutNanos = System.nanoTime();
+        touch();
+    }
+    
+    /**
+     * Called by the RMI runtime when no client holds a live reference to this object,
+     * either because all have released their stubs or because their leases expired.
+     */
+    @Override
+    public synchronized void unreferenced() {
+        if (System.nanoTime() - handedOutNanos < handOutGraceNanos) {
+            logger.debug("Ignoring unreferenced notice for {} received right after a hand-out",
+                    account.getAccountNumber());
+            return;
+        }
+        unreferencedGeneration = generation;
+    }
+    
+    /**
+     * Check whether the distributed garbage collector has reported that no client
+     * holds a stub of this object since it was last handed out.
+     * 
+     * @return true if no client holds a reference
+     */
+    synchronized boolean isUnreferenced() {
+        return unreferencedGeneration == generation;
+    }
+    
+    /**
+     * Get the time of the last client call, as reported by {@link System#nanoTime()}.
+     * 
+     * @return The last access time
+     */
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+    
+    private void touch() {
+        lastAccessNanos = System.nanoTime();
     }
     
     @Override
     public String getAccountNumber() throws RemoteException {
+        touch();
         return account.getAccountNumber();
     }
     
     @Override
     public double getBalance() throws RemoteException {
+        touch();
         // Always get the latest balance from the service
-        return accountService.getAccount(account.getAccountNumber()).getBalance();
+        return callGuard.invoke("RemoteAccount.getBalance", 
+                () -> accountService.getAccount(account.getAccountNumber()).getBalance());
     }
     
     @Override
     public double deposit(double amount) throws RemoteException, IllegalArgumentException {
+        touch();
         if (amount <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
         
-        Account updatedAccount = accountService.deposit(account.getAccountNumber(), amount);
-        return updatedAccount.getBalance();
+        return callGuard.invoke("RemoteAccount.deposit", 
+                () -> accountService.deposit(account.getAccountNumber(), amount).getBalance());
     }
     
     @Override
     public double withdraw(double amount) throws RemoteException, IllegalArgumentException, InsufficientFundsException {
+        touch();
         if (amount <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
         
-        Account updatedAccount = accountService.withdraw(account.getAccountNumber(), amount);
-        return updatedAccount.getBalance();
+        return callGuard.invoke("RemoteAccount.withdraw", 
+                () -> accountService.withdraw(account.getAccountNumber(), amount).getBalance());
     }
     
     @Override
     public boolean transfer(RemoteAccount destinationAccount, double amount) 
             throws RemoteException, IllegalArgumentException, InsufficientFundsException {
+        touch();
         if (amount <= 0) {
             throw new IllegalArgumentException("Transfer amount must be positive");
         }
         
-        return accountService.transfer(
+        // Resolved before taking a dispatch permit: on a remote stub this is itself an RMI call
+        String destinationAccountNumber = destinationAccount.getAccountNumber();
+        return callGuard.invoke("RemoteAccount.transfer", () -> accountService.transfer(
                 account.getAccountNumber(),
-                destinationAccount.getAccountNumber(),
-                amount);
+                destinationAccountNumber,
+                amount));
     }
     
     @Override
     public List<Transaction> getTransactionHistory() throws RemoteException {
-        return accountService.getTransactionHistory(account.getAccountNumber());
+        touch();
+        return callGuard.invoke("RemoteAccount.getTransactionHistory", 
+                () -> accountService.getTransactionHistory(account.getAccountNumber()));
     }
     
     @Override
     public String getAccountHolderName() throws RemoteException {
+        touch();
         return account.getAccountHolderName();
     }
     
     @Override
     public Date getCreationDate() throws RemoteException {
+        touch();
         return account.getCreationDate();
     }
 }
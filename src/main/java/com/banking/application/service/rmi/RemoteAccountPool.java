@@ -0,0 +1,179 @@
+package com.banking.application.service.rmi;
+
+import com.banking.application.model.Account;
+import com.banking.application.service.AccountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one exported {@link RemoteAccountImpl} per account number so that repeated
+ * registry lookups hand out the same remote stub instead of exporting a new object
+ * on every call. A periodic sweep unexports objects that have not been used for the
+ * configured idle timeout and that no client holds a stub of any more, as reported by
+ * the RMI distributed garbage collector through {@link java.rmi.server.Unreferenced}.
+ * A client keeping an unused stub therefore keeps its object exported until it
+ * releases the stub or its DGC lease expires.
+ */
+@Component
+public class RemoteAccountPool {
+
+    private static final Logger logger = LogManager.getLogger(RemoteAccountPool.class);
+
+    private final ConcurrentMap<String, RemoteAccountImpl> liveAccounts = new ConcurrentHashMap<>();
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private RmiCallGuard callGuard;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectProvider<TunableRmiSocketFactory> socketFactory;
+
+    @Value("${rmi.remote-account.port:0}")
+    private int exportPort;
+
+    @Value("${rmi.remote-account.idle-timeout-ms:600000}")
+    private long idleTimeoutMs;
+
+    @Value("${rmi.remote-account.hand-out-grace-ms:5000}")
+    private long handOutGraceMs;
+
+    private Counter exportCounter;
+    private Counter reuseCounter;
+    private Counter unexportCounter;
+
+    @PostConstruct
+    public void registerMetrics() {
+        exportCounter = Counter.builder("rmi.remote.accounts.exported")
+                .description("Remote account objects exported to RMI clients")
+                .register(meterRegistry);
+        reuseCounter = Counter.builder("rmi.remote.accounts.reused")
+                .description("Registry lookups served by an already exported remote account")
+                .register(meterRegistry);
+        unexportCounter = Counter.builder("rmi.remote.accounts.unexported")
+                .description("Remote account objects unexported after being idle and unreferenced")
+                .register(meterRegistry);
+        Gauge.builder("rmi.remote.accounts.live", liveAccounts, ConcurrentMap::size)
+                .description("Remote account objects currently exported")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the exported remote object for an account, exporting one if none is live.
+     *
+     * @param account The account to expose
+     * @return The exported remote account
+     * @throws RemoteException If the object could not be exported
+     */
+    public RemoteAccount acquire(Account account) throws RemoteException {
+        String accountNumber = account.getAccountNumber();
+        while (true) {
+            RemoteAccountImpl existing = liveAccounts.computeIfPresent(accountNumber, (key, remoteAccount) -> {
+                remoteAccount.refresh(account);
+                return remoteAccount;
+            });
+            if (existing != null) {
+                reuseCounter.increment();
+                return existing;
+            }
+            // Exported outside the map so that a slow export does not block the bin's other keys
+            RemoteAccountImpl exported = export(account);
+            if (liveAccounts.putIfAbsent(accountNumber, exported) == null) {
+                return exported;
+            }
+            // Another lookup exported the same account first; use its object instead
+            unexport(accountNumber, exported, true);
+        }
+    }
+
+    /**
+     * Unexport remote accounts that have not been called within the idle timeout and
+     * that no client holds a reference to. Objects with calls still in progress are
+     * left alone until the next sweep.
+     */
+    @Scheduled(fixedDelayString = "${rmi.remote-account.sweep-interval-ms:60000}")
+    public void unexportIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        for (String accountNumber : liveAccounts.keySet()) {
+            RemoteAccountImpl[] removed = new RemoteAccountImpl[1];
+            // Checked and removed in one step, so that no lookup can hand the object out in between
+            liveAccounts.computeIfPresent(accountNumber, (key, remoteAccount) -> {
+                if (!remoteAccount.isUnreferenced() || remoteAccount.getLastAccessNanos() - cutoff > 0) {
+                    return remoteAccount;
+                }
+                removed[0] = remoteAccount;
+                return null;
+            });
+            RemoteAccountImpl remoteAccount = removed[0];
+            if (remoteAccount != null && !unexport(accountNumber, remoteAccount, false)
+                    && liveAccounts.putIfAbsent(accountNumber, remoteAccount) != null) {
+                // Busy, but a lookup has already exported a replacement
+                unexport(accountNumber, remoteAccount, true);
+            }
+        }
+    }
+
+    /**
+     * Get the number of currently exported remote accounts.
+     *
+     * @return The live object count
+     */
+    public int size() {
+        return liveAccounts.size();
+    }
+
+    @PreDestroy
+    public void unexportAll() {
+        liveAccounts.forEach((accountNumber, remoteAccount) -> unexport(accountNumber, remoteAccount, true));
+        liveAccounts.clear();
+    }
+
+    private RemoteAccountImpl export(Account account) throws RemoteException {
+        RemoteAccountImpl remoteAccount = new RemoteAccountImpl(account, accountService, callGuard,
+                TimeUnit.MILLISECONDS.toNanos(handOutGraceMs));
+        TunableRmiSocketFactory factory = socketFactory.getIfAvailable();
+        if (factory != null) {
+            UnicastRemoteObject.exportObject(remoteAccount, exportPort, factory, factory);
+        } else {
+            UnicastRemoteObject.exportObject(remoteAccount, exportPort);
+        }
+        exportCounter.increment();
+        logger.debug("Exported remote account {}", account.getAccountNumber());
+        return remoteAccount;
+    }
+
+    private boolean unexport(String accountNumber, RemoteAccountImpl remoteAccount, boolean force) {
+        try {
+            if (!UnicastRemoteObject.unexportObject(remoteAccount, force)) {
+                return false;
+            }
+        } catch (NoSuchObjectException e) {
+            logger.debug("Remote account {} was already unexported", accountNumber);
+        }
+        unexportCounter.increment();
+        logger.debug("Unexported remote account {}", accountNumber);
+        return true;
+    }
+}
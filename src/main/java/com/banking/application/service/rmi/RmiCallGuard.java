@@ -0,0 +1,124 @@
+package com.banking.application.service.rmi;
+
+import com.banking.application.resilience.Deadline;
+import com.banking.application.resilience.DeadlineContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.rmi.RemoteException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of RMI calls running against the service layer at once and
+ * times every call per method.
+ * <p>
+ * The RMI runtime dispatches each connection on its own thread, so without a bound a
+ * burst of legacy clients turns directly into a burst of database tier calls. Calls
+ * that cannot get a permit within the acquire timeout fail with a RemoteException.
+ * Admitted calls get a deadline of {@code deadline.default-ms}, as REST requests do.
+ */
+@Component
+public class RmiCallGuard {
+
+    private static final Logger logger = LogManager.getLogger(RmiCallGuard.class);
+
+    /**
+     * A remote method body.
+     *
+     * @param <T> Result type
+     * @param <E> Checked exception the method declares besides RemoteException
+     */
+    @FunctionalInterface
+    public interface RmiCall<T, E extends Exception> {
+        T call() throws E, RemoteException;
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${rmi.dispatch.max-concurrent-calls:64}")
+    private int maxConcurrentCalls;
+
+    @Value("${rmi.dispatch.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMs;
+
+    @Value("${deadline.default-ms:10000}")
+    private long deadlineMs;
+
+    private Semaphore permits;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxConcurrentCalls, true);
+        rejectedCounter = Counter.builder("rmi.calls.rejected")
+                .description("RMI calls rejected because the dispatch limit was reached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a remote method body under the concurrency limit and record its latency.
+     *
+     * @param method Method name used as the metric tag, e.g. "RemoteAccount.getBalance"
+     * @param call The method body
+     * @return The method result
+     * @throws E The method's own checked exception
+     * @throws RemoteException If the call was rejected or the body failed remotely
+     */
+    public <T, E extends Exception> T invoke(String method, RmiCall<T, E> call) throws E, RemoteException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (!acquire(method)) {
+            rejectedCounter.increment();
+            stop(sample, method, "rejected");
+            logger.warn("Rejecting RMI call {}: {} calls already in progress", method, maxConcurrentCalls);
+            throw new RemoteException("Server busy, try again later");
+        }
+
+        String outcome = "success";
+        DeadlineContext.set(Deadline.after(deadlineMs));
+        try {
+            return call.call();
+        } catch (Exception e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            DeadlineContext.clear();
+            permits.release();
+            stop(sample, method, outcome);
+        }
+    }
+
+    /**
+     * Get the number of RMI calls currently running.
+     *
+     * @return The in-flight call count
+     */
+    public int getInFlightCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    private boolean acquire(String method) throws RemoteException {
+        try {
+            return permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemoteException("Interrupted while waiting to dispatch " + method, e);
+        }
+    }
+
+    private void stop(Timer.Sample sample, String method, String outcome) {
+        sample.stop(Timer.builder("rmi.calls")
+                .description("Latency of RMI calls by remote method")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,184 @@
+package com.banking.application.service.rmi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * RMI socket factory with TCP_NODELAY, socket buffer sizing and optional deflate
+ * compression of the stream. Large results such as transaction histories compress well.
+ * <p>
+ * The factory is serialized into every stub, so clients need this class on their
+ * classpath. Both ends must agree on compression, which they do automatically because
+ * the client half comes from the stub.
+ */
+public class TunableRmiSocketFactory implements RMIClientSocketFactory, RMIServerSocketFactory, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final boolean compress;
+    private final boolean tcpNoDelay;
+    private final int socketBufferSize;
+    private final int streamBufferSize;
+
+    /**
+     * Constructor.
+     *
+     * @param compress Whether to deflate the stream
+     * @param tcpNoDelay Whether to disable Nagle's algorithm
+     * @param socketBufferSize Socket send and receive buffer size in bytes, or 0 for the OS default
+     * @param streamBufferSize Buffer size for the compression streams in bytes
+     */
+    public TunableRmiSocketFactory(boolean compress, boolean tcpNoDelay, int socketBufferSize, int streamBufferSize) {
+        this.compress = compress;
+        this.tcpNoDelay = tcpNoDelay;
+        this.socketBufferSize = socketBufferSize;
+        this.streamBufferSize = streamBufferSize;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        Socket socket = compress ? new CompressedSocket(streamBufferSize) : new Socket();
+        configure(socket);
+        socket.connect(new InetSocketAddress(host, port));
+        return socket;
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port) throws IOException {
+        ServerSocket serverSocket = new TunedServerSocket();
+        if (socketBufferSize > 0) {
+            // Must be set before binding to affect the window advertised on accepted sockets
+            serverSocket.setReceiveBufferSize(socketBufferSize);
+        }
+        serverSocket.bind(new InetSocketAddress(port));
+        return serverSocket;
+    }
+
+    private void configure(Socket socket) throws IOException {
+        socket.setTcpNoDelay(tcpNoDelay);
+        if (socketBufferSize > 0) {
+            socket.setSendBufferSize(socketBufferSize);
+            socket.setReceiveBufferSize(socketBufferSize);
+        }
+    }
+
+    public boolean isCompress() {
+        return compress;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public int getSocketBufferSize() {
+        return socketBufferSize;
+    }
+
+    public int getStreamBufferSize() {
+        return streamBufferSize;
+    }
+
+    // RMI shares listening ports and reuses client connections only between equal factories
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TunableRmiSocketFactory that = (TunableRmiSocketFactory) o;
+        return compress == that.compress
+                && tcpNoDelay == that.tcpNoDelay
+                && socketBufferSize == that.socketBufferSize
+                && streamBufferSize == that.streamBufferSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(compress, tcpNoDelay, socketBufferSize, streamBufferSize);
+    }
+
+    @Override
+    public String toString() {
+        return "TunableRmiSocketFactory{" +
+                "compress=" + compress +
+                ", tcpNoDelay=" + tcpNoDelay +
+                ", socketBufferSize=" + socketBufferSize +
+                ", streamBufferSize=" + streamBufferSize +
+                '}';
+    }
+
+    /**
+     * Server socket that applies the factory's options to accepted connections.
+     */
+    private class TunedServerSocket extends ServerSocket {
+
+        TunedServerSocket() throws IOException {
+            super();
+        }
+
+        @Override
+        public Socket accept() throws IOException {
+            Socket socket = compress ? new CompressedSocket(streamBufferSize) : new Socket();
+            implAccept(socket);
+            configure(socket);
+            return socket;
+        }
+    }
+
+    /**
+     * Socket whose streams are deflated. Output is sync-flushed so that every RMI
+     * call and reply is sent as soon as RMI flushes it.
+     */
+    private static class CompressedSocket extends Socket {
+
+        private final int bufferSize;
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final Inflater inflater = new Inflater();
+        private InputStream inputStream;
+        private OutputStream outputStream;
+
+        CompressedSocket(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new InflaterInputStream(super.getInputStream(), inflater, bufferSize);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new DeflaterOutputStream(super.getOutputStream(), deflater, bufferSize, true);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                // The streams do not own these, so release the native zlib state here
+                deflater.end();
+                inflater.end();
+            }
+        }
+    }
+}
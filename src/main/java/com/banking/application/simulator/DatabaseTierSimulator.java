@@ -0,0 +1,296 @@
+package com.banking.application.simulator;
+
+import com.banking.application.model.Account;
+import com.banking.application.model.Transaction;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory simulator of the database tier REST API, for profiling and load testing
+ * the application tier without the real database tier.
+ * <p>
+ * It serves the same endpoints the application tier calls, keeps accounts and
+ * transactions in memory, and shapes every response with a latency model, a
+ * random error rate and occasional slow responses.
+ */
+public class DatabaseTierSimulator {
+
+    private static final Logger logger = LogManager.getLogger(DatabaseTierSimulator.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<String, Deque<Transaction>> transactions = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong injectedErrorCount = new AtomicLong();
+    private final AtomicLong injectedSlowCount = new AtomicLong();
+
+    private final LatencyModel latencyModel;
+    private final double errorRate;
+    private final double slowRate;
+    private final Duration slowLatency;
+    private final int maxHistoryPerAccount;
+
+    private DisposableServer server;
+
+    /**
+     * Constructor.
+     *
+     * @param latencyModel Latency added to every response
+     * @param errorRate Fraction of requests answered with 503, between 0 and 1
+     * @param slowRate Fraction of responses delayed by an extra {@code slowLatency}, between 0 and 1
+     * @param slowLatency Extra delay for slow responses
+     * @param maxHistoryPerAccount Transactions kept per account, oldest dropped first; 0 for no limit
+     */
+    public DatabaseTierSimulator(LatencyModel latencyModel, double errorRate, double slowRate,
+                                 Duration slowLatency, int maxHistoryPerAccount) {
+        this.latencyModel = latencyModel;
+        this.errorRate = errorRate;
+        this.slowRate = slowRate;
+        this.slowLatency = slowLatency;
+        this.maxHistoryPerAccount = maxHistoryPerAccount;
+    }
+
+    /**
+     * Start serving on the given address.
+     *
+     * @param host Host to bind
+     * @param port Port to bind, or 0 for a free port
+     */
+    public synchronized void start(String host, int port) {
+        if (server != null) {
+            return;
+        }
+        server = HttpServer.create()
+                .host(host)
+                .port(port)
+                .route(routes -> routes
+                        .get("/api/accounts", this::getAllAccounts)
+                        .post("/api/accounts", this::createAccount)
+                        .get("/api/accounts/{accountNumber}", this::getAccount)
+                        .put("/api/accounts/{accountNumber}/balance", this::updateBalance)
+                        .post("/api/transactions", this::recordTransaction)
+                        .get("/api/transactions/account/{accountNumber}", this::getTransactions))
+                .bindNow();
+        logger.info("Database tier simulator listening on {} with {} accounts", getBaseUrl(), accounts.size());
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+    }
+
+    /**
+     * Get the base URL to configure as the database tier URL.
+     *
+     * @return The base URL
+     */
+    public String getBaseUrl() {
+        return "http://" + server.host() + ":" + server.port();
+    }
+
+    /**
+     * Add accounts directly, without going through HTTP.
+     *
+     * @param count Number of accounts
+     * @param balance Opening balance of each account
+     */
+    public void seed(int count, double balance) {
+        for (int i = 0; i < count; i++) {
+            String accountNumber = accountNumber(i);
+            accounts.put(accountNumber, new Account(accountNumber, "Holder " + i, balance));
+        }
+    }
+
+    /**
+     * Get the account number used by {@link #seed} for an index.
+     *
+     * @param index Account index
+     * @return The account number
+     */
+    public static String accountNumber(int index) {
+        return String.format("ACC%08d", index);
+    }
+
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.get();
+    }
+
+    public long getInjectedSlowCount() {
+        return injectedSlowCount.get();
+    }
+
+    private Mono<Void> getAllAccounts(HttpServerRequest request, HttpServerResponse response) {
+        return respond(response, HttpResponseStatus.OK, () -> new ArrayList<>(accounts.values()));
+    }
+
+    private Mono<Void> createAccount(HttpServerRequest request, HttpServerResponse response) {
+        return request.receive().aggregate().asByteArray().flatMap(bytes -> respond(response, () -> {
+            Account account = read(bytes, Account.class);
+            if (account.getCreationDate() == null) {
+                account.setCreationDate(new Date());
+            }
+            if (accounts.putIfAbsent(account.getAccountNumber(), account) != null) {
+                return error(HttpResponseStatus.CONFLICT, "Account already exists");
+            }
+            return new Reply(HttpResponseStatus.CREATED, account);
+        }));
+    }
+
+    private Mono<Void> getAccount(HttpServerRequest request, HttpServerResponse response) {
+        String accountNumber = request.param("accountNumber");
+        return respond(response, () -> {
+            Account account = accounts.get(accountNumber);
+            return account != null
+                    ? new Reply(HttpResponseStatus.OK, account)
+                    : error(HttpResponseStatus.NOT_FOUND, "Account not found");
+        });
+    }
+
+    private Mono<Void> updateBalance(HttpServerRequest request, HttpServerResponse response) {
+        String accountNumber = request.param("accountNumber");
+        return request.receive().aggregate().asByteArray().flatMap(bytes -> respond(response, () -> {
+            Map<?, ?> body = read(bytes, Map.class);
+            Account account = accounts.get(accountNumber);
+            if (account == null) {
+                return error(HttpResponseStatus.NOT_FOUND, "Account not found");
+            }
+            account.setBalance(((Number) body.get("balance")).doubleValue());
+            return new Reply(HttpResponseStatus.OK, account);
+        }));
+    }
+
+    private Mono<Void> recordTransaction(HttpServerRequest request, HttpServerResponse response) {
+        return request.receive().aggregate().asByteArray().flatMap(bytes -> respond(response, () -> {
+            Map<?, ?> body = read(bytes, Map.class);
+            Transaction transaction = new Transaction(
+                    (String) body.get("transactionId"),
+                    (String) body.get("transactionType"),
+                    ((Number) body.get("amount")).doubleValue(),
+                    ((Number) body.get("resultingBalance")).doubleValue(),
+                    (String) body.get("description"),
+                    (String) body.get("sourceAccount"),
+                    (String) body.get("destinationAccount"));
+            Deque<Transaction> history = transactions.computeIfAbsent(
+                    (String) body.get("accountNumber"), accountNumber -> new ArrayDeque<>());
+            synchronized (history) {
+                history.addLast(transaction);
+                if (maxHistoryPerAccount > 0 && history.size() > maxHistoryPerAccount) {
+                    history.removeFirst();
+                }
+            }
+            return new Reply(HttpResponseStatus.CREATED, transaction);
+        }));
+    }
+
+    private Mono<Void> getTransactions(HttpServerRequest request, HttpServerResponse response) {
+        String accountNumber = request.param("accountNumber");
+        return respond(response, HttpResponseStatus.OK, () -> {
+            Deque<Transaction> history = transactions.get(accountNumber);
+            if (history == null) {
+                return Collections.emptyList();
+            }
+            synchronized (history) {
+                return new ArrayList<>(history);
+            }
+        });
+    }
+
+    private Mono<Void> respond(HttpServerResponse response, HttpResponseStatus status,
+                               Supplier<Object> body) {
+        return respond(response, () -> new Reply(status, body.get()));
+    }
+
+    /**
+     * Apply fault injection and latency, then run the handler and write its reply.
+     * Injected errors do not touch state, like a request that never reached the database.
+     */
+    private Mono<Void> respond(HttpServerResponse response, Supplier<Reply> handler) {
+        requestCount.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Duration delay = latencyModel.next();
+        if (slowRate > 0 && random.nextDouble() < slowRate) {
+            injectedSlowCount.incrementAndGet();
+            delay = delay.plus(slowLatency);
+        }
+        boolean fail = errorRate > 0 && random.nextDouble() < errorRate;
+        if (fail) {
+            injectedErrorCount.incrementAndGet();
+        }
+
+        Mono<Reply> reply = Mono.fromSupplier(() -> fail
+                ? error(HttpResponseStatus.SERVICE_UNAVAILABLE, "Simulated failure")
+                : handler.get())
+                .onErrorResume(IllegalArgumentException.class, 
+                        e -> Mono.just(error(HttpResponseStatus.BAD_REQUEST, e.getMessage())));
+        if (!delay.isZero()) {
+            reply = Mono.delay(delay).then(reply);
+        }
+        return reply.flatMap(r -> response.status(r.status)
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendByteArray(Mono.just(write(r.body)))
+                .then());
+    }
+
+    private static Reply error(HttpResponseStatus status, String message) {
+        return new Reply(status, Collections.singletonMap("error", message));
+    }
+
+    private <T> T read(byte[] bytes, Class<T> type) {
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed request body", e);
+        }
+    }
+
+    private byte[] write(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize response", e);
+        }
+    }
+
+    private static class Reply {
+        private final HttpResponseStatus status;
+        private final Object body;
+
+        Reply(HttpResponseStatus status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
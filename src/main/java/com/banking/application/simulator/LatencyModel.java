@@ -0,0 +1,88 @@
+package com.banking.application.simulator;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution that the simulator draws response latencies from.
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    /**
+     * Draw the latency for the next response.
+     *
+     * @return The latency
+     */
+    Duration next();
+
+    static LatencyModel none() {
+        return () -> Duration.ZERO;
+    }
+
+    static LatencyModel fixed(long millis) {
+        Duration latency = Duration.ofMillis(millis);
+        return () -> latency;
+    }
+
+    static LatencyModel uniform(long minMillis, long maxMillis) {
+        return () -> Duration.ofMillis(ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1));
+    }
+
+    static LatencyModel exponential(double meanMillis) {
+        return () -> toDuration(-meanMillis * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * Log-normal latencies, which have the long right tail typical of remote services.
+     *
+     * @param medianMillis Median latency
+     * @param sigma Shape; 0.5 gives a p99 of roughly 3x the median
+     * @return The model
+     */
+    static LatencyModel logNormal(double medianMillis, double sigma) {
+        double mu = Math.log(medianMillis);
+        return () -> toDuration(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    /**
+     * Parse a latency model from configuration. Accepted forms are {@code none},
+     * {@code fixed:5}, {@code uniform:2-20}, {@code exponential:10} and
+     * {@code lognormal:10,0.5}, with times in milliseconds.
+     *
+     * @param spec The model specification
+     * @return The model
+     */
+    static LatencyModel parse(String spec) {
+        String trimmed = spec.trim();
+        int colon = trimmed.indexOf(':');
+        String type = (colon < 0 ? trimmed : trimmed.substring(0, colon)).toLowerCase();
+        String args = colon < 0 ? "" : trimmed.substring(colon + 1);
+        try {
+            switch (type) {
+                case "none":
+                    return none();
+                case "fixed":
+                    return fixed(Long.parseLong(args));
+                case "uniform": {
+                    String[] range = args.split("-");
+                    return uniform(Long.parseLong(range[0]), Long.parseLong(range[1]));
+                }
+                case "exponential":
+                    return exponential(Double.parseDouble(args));
+                case "lognormal": {
+                    String[] params = args.split(",");
+                    return logNormal(Double.parseDouble(params[0]), Double.parseDouble(params[1]));
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown latency model: " + spec);
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed latency model: " + spec, e);
+        }
+    }
+
+    private static Duration toDuration(double millis) {
+        return Duration.ofNanos((long) (millis * 1_000_000));
+    }
+}
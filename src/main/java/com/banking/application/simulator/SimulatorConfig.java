@@ -0,0 +1,63 @@
+package com.banking.application.simulator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * Starts an embedded database tier simulator when the "simulator" profile is active.
+ * application-simulator.properties points database.tier.url at it.
+ */
+@Configuration
+@Profile("simulator")
+public class SimulatorConfig {
+
+    @Value("${simulator.host:127.0.0.1}")
+    private String host;
+
+    @Value("${simulator.port:18080}")
+    private int port;
+
+    @Value("${simulator.latency:none}")
+    private String latency;
+
+    @Value("${simulator.error-rate:0}")
+    private double errorRate;
+
+    @Value("${simulator.slow-rate:0}")
+    private double slowRate;
+
+    @Value("${simulator.slow-latency-ms:2000}")
+    private long slowLatencyMs;
+
+    @Value("${simulator.max-history-per-account:10000}")
+    private int maxHistoryPerAccount;
+
+    @Value("${simulator.seed.accounts:1000}")
+    private int seedAccounts;
+
+    @Value("${simulator.seed.balance:1000}")
+    private double seedBalance;
+
+    /**
+     * Start the simulator at startup even with lazy initialization, since nothing in the
+     * application references it directly.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter simulatorEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DatabaseTierSimulator.class);
+    }
+
+    @Bean(destroyMethod = "stop")
+    public DatabaseTierSimulator databaseTierSimulator() {
+        DatabaseTierSimulator simulator = new DatabaseTierSimulator(LatencyModel.parse(latency), errorRate, 
+                slowRate, Duration.ofMillis(slowLatencyMs), maxHistoryPerAccount);
+        simulator.seed(seedAccounts, seedBalance);
+        simulator.start(host, port);
+        return simulator;
+    }
+}
@@ -0,0 +1,131 @@
+package com.banking.application.startup;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Logs a breakdown of startup time once the application is ready: total time, time per
+ * startup phase, and the slowest bean initializations. Times are self times, i.e. without
+ * nested steps such as the dependencies a bean pulled in. The full timeline is available
+ * from the actuator startup endpoint.
+ */
+@Component
+public class StartupTimingReporter {
+
+    private static final Logger logger = LogManager.getLogger(StartupTimingReporter.class);
+
+    private static final String BEAN_INSTANTIATION = "spring.beans.instantiate";
+
+    @Autowired
+    private ApplicationStartup applicationStartup;
+
+    @Value("${startup.report.top-beans:15}")
+    private int topBeans;
+
+    @Value("${startup.exit-on-ready:false}")
+    private boolean exitOnReady;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        logger.info("Application ready in {} ms ({} ms since JVM start)",
+                event.getTimeTaken().toMillis(), ManagementFactory.getRuntimeMXBean().getUptime());
+        if (applicationStartup instanceof BufferingApplicationStartup) {
+            report(((BufferingApplicationStartup) applicationStartup).getBufferedTimeline());
+        }
+
+        if (exitOnReady) {
+            // Training runs for the class data sharing archive only need to get this far
+            logger.info("Exiting because startup.exit-on-ready is set");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    private void report(StartupTimeline timeline) {
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        Map<Long, Long> childNanos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childNanos.merge(parentId, event.getDuration().toNanos(), Long::sum);
+            }
+        }
+
+        Map<String, Long> phaseNanos = new TreeMap<>();
+        List<BeanTiming> beans = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            long selfNanos = event.getDuration().toNanos() - childNanos.getOrDefault(step.getId(), 0L);
+            phaseNanos.merge(step.getName(), selfNanos, Long::sum);
+            if (BEAN_INSTANTIATION.equals(step.getName())) {
+                beans.add(new BeanTiming(tag(step, "beanName"), selfNanos, event.getDuration().toNanos()));
+            }
+        }
+
+        StringBuilder report = new StringBuilder("Startup time by phase (self time):");
+        phaseNanos.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(phase -> report.append(String.format("%n  %8d ms  %s",
+                        Duration.ofNanos(phase.getValue()).toMillis(), phase.getKey())));
+        report.append(String.format("%nSlowest of %d bean initializations (self / including dependencies):",
+                beans.size()));
+        beans.stream()
+                .sorted(Comparator.comparingLong(BeanTiming::getSelfNanos).reversed())
+                .limit(topBeans)
+                .forEach(bean -> report.append(String.format("%n  %8d ms / %8d ms  %s",
+                        Duration.ofNanos(bean.getSelfNanos()).toMillis(),
+                        Duration.ofNanos(bean.getTotalNanos()).toMillis(), bean.getName())));
+        logger.info(report);
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (key.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private static class BeanTiming {
+        private final String name;
+        private final long selfNanos;
+        private final long totalNanos;
+
+        BeanTiming(String name, long selfNanos, long totalNanos) {
+            this.name = name;
+            this.selfNanos = selfNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        long getSelfNanos() {
+            return selfNanos;
+        }
+
+        long getTotalNanos() {
+            return totalNanos;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.banking.application.statement;
+
+import com.banking.application.dto.StatementPeriod;
+import com.banking.application.dto.TransactionTotals;
+import com.banking.application.model.Transaction.TransactionType;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Daily and monthly transaction totals of one account, updated one transaction at a
+ * time. Both granularities are kept so that reading either costs one entry per period.
+ */
+class AccountRollup {
+
+    private final TreeMap<LocalDate, PeriodTotals> days = new TreeMap<>();
+    private final TreeMap<LocalDate, PeriodTotals> months = new TreeMap<>();
+
+    /**
+     * Add a transaction to the day and month it falls in.
+     *
+     * @param date Transaction date in the statement time zone
+     * @param type Transaction type
+     * @param amount Transaction amount
+     * @param resultingBalance Balance after the transaction
+     */
+    synchronized void add(LocalDate date, TransactionType type, double amount, double resultingBalance) {
+        days.computeIfAbsent(date, d -> new PeriodTotals()).add(type, amount, resultingBalance);
+        months.computeIfAbsent(date.withDayOfMonth(1), d -> new PeriodTotals()).add(type, amount, resultingBalance);
+    }
+
+    /**
+     * Copy the periods that overlap a date range.
+     *
+     * @param granularity Day or month periods
+     * @param from First date, inclusive, or null for no lower bound
+     * @param to Last date, inclusive, or null for no upper bound
+     * @return The periods, oldest first
+     */
+    synchronized List<StatementPeriod> periods(StatementGranularity granularity, LocalDate from, LocalDate to) {
+        boolean monthly = granularity == StatementGranularity.MONTH;
+        TreeMap<LocalDate, PeriodTotals> source = monthly ? months : days;
+        Map<LocalDate, PeriodTotals> range = source;
+        LocalDate lower = from != null && monthly ? from.withDayOfMonth(1) : from;
+        if (lower != null && to != null) {
+            range = source.subMap(lower, true, to, true);
+        } else if (lower != null) {
+            range = source.tailMap(lower, true);
+        } else if (to != null) {
+            range = source.headMap(to, true);
+        }
+
+        List<StatementPeriod> periods = new ArrayList<>(range.size());
+        for (Map.Entry<LocalDate, PeriodTotals> entry : range.entrySet()) {
+            String period = monthly ? YearMonth.from(entry.getKey()).toString() : entry.getKey().toString();
+            periods.add(entry.getValue().toPeriod(period));
+        }
+        return periods;
+    }
+
+    private static class PeriodTotals {
+
+        private final EnumMap<TransactionType, TypeTotals> byType = new EnumMap<>(TransactionType.class);
+        private long count;
+        private double minBalance = Double.POSITIVE_INFINITY;
+        private double maxBalance = Double.NEGATIVE_INFINITY;
+
+        void add(TransactionType type, double amount, double resultingBalance) {
+            byType.computeIfAbsent(type, t -> new TypeTotals()).add(amount, resultingBalance);
+            count++;
+            minBalance = Math.min(minBalance, resultingBalance);
+            maxBalance = Math.max(maxBalance, resultingBalance);
+        }
+
+        StatementPeriod toPeriod(String period) {
+            Map<String, TransactionTotals> totals = new LinkedHashMap<>();
+            byType.forEach((type, typeTotals) -> totals.put(type.name(), typeTotals.toTotals()));
+            return new StatementPeriod(period, count, minBalance, maxBalance, totals);
+        }
+    }
+
+    private static class TypeTotals {
+
+        private long count;
+        private double total;
+        private double minBalance = Double.POSITIVE_INFINITY;
+        private double maxBalance = Double.NEGATIVE_INFINITY;
+
+        void add(double amount, double resultingBalance) {
+            count++;
+            total += amount;
+            minBalance = Math.min(minBalance, resultingBalance);
+            maxBalance = Math.max(maxBalance, resultingBalance);
+        }
+
+        TransactionTotals toTotals() {
+            return new TransactionTotals(count, total, minBalance, maxBalance);
+        }
+    }
+}
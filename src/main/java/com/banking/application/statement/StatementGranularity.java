@@ -0,0 +1,8 @@
+package com.banking.application.statement;
+
+/**
+ * Period length of statement rollups.
+ */
+public enum StatementGranularity {
+    DAY, MONTH
+}
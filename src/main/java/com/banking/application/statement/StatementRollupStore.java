@@ -0,0 +1,264 @@
+package com.banking.application.statement;
+
+import com.banking.application.dto.StatementSummary;
+import com.banking.application.model.Transaction;
+import com.banking.application.model.Transaction.TransactionType;
+import com.banking.application.service.impl.DatabaseTierClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-account statement rollups: transaction counts, totals and balance ranges by
+ * transaction type per day and month.
+ * <p>
+ * An account's rollup is built from its transaction history the first time a summary
+ * is requested, and from then on every transaction recorded through this instance is
+ * added to it as it happens. Rollups are dropped when the least recently used accounts
+ * exceed the configured maximum, and rebuilt after the configured maximum age so that
+ * transactions recorded by other application tier instances are picked up.
+ */
+@Component
+public class StatementRollupStore {
+
+    private static final Logger logger = LogManager.getLogger(StatementRollupStore.class);
+
+    @Autowired
+    private DatabaseTierClient databaseTierClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${statement.rollups.max-accounts:10000}")
+    private long maxAccounts;
+
+    @Value("${statement.rollups.max-age-ms:3600000}")
+    private long maxAgeMs;
+
+    @Value("${statement.zone:UTC}")
+    private String zone;
+
+    private final ConcurrentMap<String, Backfill> backfills = new ConcurrentHashMap<>();
+
+    private Cache<String, AccountRollup> rollups;
+    private ZoneId zoneId;
+    private Counter backfillCounter;
+    private Counter incrementalCounter;
+
+    @PostConstruct
+    public void init() {
+        zoneId = ZoneId.of(zone);
+        // Incremental updates mutate a rollup in place, so its write time stays its build time
+        rollups = Caffeine.newBuilder()
+                .maximumSize(maxAccounts)
+                .expireAfterWrite(Duration.ofMillis(maxAgeMs))
+                .build();
+        backfillCounter = Counter.builder("statement.rollups.backfills")
+                .description("Statement rollups built from an account's transaction history")
+                .register(meterRegistry);
+        incrementalCounter = Counter.builder("statement.rollups.updates")
+                .description("Transactions added to an existing statement rollup")
+                .register(meterRegistry);
+        Gauge.builder("statement.rollups.accounts", rollups, Cache::estimatedSize)
+                .description("Accounts with a statement rollup in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Add a transaction that has just been recorded in the database tier. Accounts
+     * without a rollup are skipped, as their backfill will read the transaction.
+     *
+     * @param accountNumber Account number
+     * @param transactionId Transaction ID
+     * @param transactionType Transaction type name
+     * @param amount Transaction amount
+     * @param resultingBalance Balance after the transaction
+     */
+    public void record(String accountNumber, String transactionId, String transactionType,
+                       double amount, double resultingBalance) {
+        TransactionType type = parseType(transactionType);
+        if (type == null) {
+            return;
+        }
+        LocalDate date = LocalDate.now(zoneId);
+
+        // A backfill in progress may have fetched the history before this transaction
+        // was written; it applies buffered transactions it has not seen once it is done
+        Backfill backfill = backfills.get(accountNumber);
+        if (backfill != null && backfill.offer(transactionId, date, type, amount, resultingBalance)) {
+            return;
+        }
+        AccountRollup rollup = rollups.getIfPresent(accountNumber);
+        if (rollup != null) {
+            rollup.add(date, type, amount, resultingBalance);
+            incrementalCounter.increment();
+        }
+    }
+
+    /**
+     * Get the statement summary of an account, building its rollup from the
+     * transaction history if there is none yet.
+     *
+     * @param accountNumber Account number
+     * @param granularity Day or month periods
+     * @param from First date, inclusive, or null for no lower bound
+     * @param to Last date, inclusive, or null for no upper bound
+     * @return The statement summary
+     */
+    public StatementSummary getSummary(String accountNumber, StatementGranularity granularity,
+                                       LocalDate from, LocalDate to) {
+        AccountRollup rollup = rollups.getIfPresent(accountNumber);
+        if (rollup == null) {
+            rollup = backfill(accountNumber);
+        }
+        return new StatementSummary(accountNumber, granularity.name(), rollup.periods(granularity, from, to));
+    }
+
+    /**
+     * Drop an account's rollup so that the next summary rebuilds it from history.
+     *
+     * @param accountNumber Account number
+     */
+    public void invalidate(String accountNumber) {
+        rollups.invalidate(accountNumber);
+    }
+
+    private AccountRollup backfill(String accountNumber) {
+        Backfill backfill = new Backfill();
+        Backfill running = backfills.putIfAbsent(accountNumber, backfill);
+        if (running != null) {
+            return running.await();
+        }
+        try {
+            long start = System.nanoTime();
+            List<Transaction> history = databaseTierClient.getTransactionHistory(accountNumber).block();
+            if (history == null) {
+                history = Collections.emptyList();
+            }
+            AccountRollup rollup = new AccountRollup();
+            Set<String> seen = new HashSet<>(history.size() * 2);
+            for (Transaction transaction : history) {
+                TransactionType type = parseType(transaction.getType());
+                if (type == null) {
+                    continue;
+                }
+                seen.add(transaction.getTransactionId());
+                rollup.add(toDate(transaction.getTimestamp()), type,
+                        transaction.getAmount(), transaction.getResultingBalance());
+            }
+            rollups.put(accountNumber, rollup);
+            // The rollup is visible before the buffer closes, so no transaction falls between them
+            backfill.close(rollup, seen);
+            backfillCounter.increment();
+            logger.debug("Built statement rollup for account {} from {} transactions in {} ms",
+                    accountNumber, history.size(), (System.nanoTime() - start) / 1_000_000);
+            return rollup;
+        } catch (RuntimeException e) {
+            backfill.fail(e);
+            throw e;
+        } finally {
+            backfills.remove(accountNumber, backfill);
+        }
+    }
+
+    private LocalDate toDate(Date timestamp) {
+        Instant instant = timestamp != null ? timestamp.toInstant() : Instant.now();
+        return instant.atZone(zoneId).toLocalDate();
+    }
+
+    private static TransactionType parseType(String transactionType) {
+        if (transactionType == null) {
+            return null;
+        }
+        try {
+            return TransactionType.valueOf(transactionType);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring transaction of unknown type {} in statement rollup", transactionType);
+            return null;
+        }
+    }
+
+    /**
+     * A rollup being built from history, buffering transactions recorded meanwhile.
+     */
+    private static class Backfill {
+
+        private final CompletableFuture<AccountRollup> result = new CompletableFuture<>();
+        private final List<PendingTransaction> pending = new ArrayList<>();
+        private boolean closed;
+
+        synchronized boolean offer(String transactionId, LocalDate date, TransactionType type,
+                                   double amount, double resultingBalance) {
+            if (closed) {
+                return false;
+            }
+            pending.add(new PendingTransaction(transactionId, date, type, amount, resultingBalance));
+            return true;
+        }
+
+        synchronized void close(AccountRollup rollup, Set<String> seen) {
+            closed = true;
+            for (PendingTransaction transaction : pending) {
+                if (!seen.contains(transaction.transactionId)) {
+                    rollup.add(transaction.date, transaction.type, transaction.amount, transaction.resultingBalance);
+                }
+            }
+            pending.clear();
+            result.complete(rollup);
+        }
+
+        synchronized void fail(RuntimeException e) {
+            closed = true;
+            result.completeExceptionally(e);
+        }
+
+        AccountRollup await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+    }
+
+    private static class PendingTransaction {
+
+        private final String transactionId;
+        private final LocalDate date;
+        private final TransactionType type;
+        private final double amount;
+        private final double resultingBalance;
+
+        PendingTransaction(String transactionId, LocalDate date, TransactionType type,
+                           double amount, double resultingBalance) {
+            this.transactionId = transactionId;
+            this.date = date;
+            this.type = type;
+            this.amount = amount;
+            this.resultingBalance = resultingBalance;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.banking.application.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing breakdown of a single inbound request: when it started, how long it took
+ * and the spans recorded for cache lookups, database tier calls and serialization.
+ * <p>
+ * Spans may be added from Reactor threads while the request thread waits, so span
+ * access is synchronized.
+ */
+public class RequestTrace {
+
+    static final int MAX_SPANS = 256;
+
+    private final String traceId;
+    private final String method;
+    private final String path;
+    private final Date startTime;
+    private final long startNanos;
+    private final List<Span> spans = new ArrayList<>();
+    private int droppedSpans;
+    private volatile long durationNanos = -1;
+    private volatile int status;
+
+    public RequestTrace(String traceId, String method, String path) {
+        this.traceId = traceId;
+        this.method = method;
+        this.path = path;
+        this.startTime = new Date();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Record a finished span.
+     *
+     * @param name What was timed, e.g. "GET /api/accounts/{accountNumber}"
+     * @param spanStartNanos Span start, as reported by {@link System#nanoTime()}
+     * @param spanEndNanos Span end, as reported by {@link System#nanoTime()}
+     * @param detail Optional outcome such as a status code, may be null
+     */
+    public void addSpan(String name, long spanStartNanos, long spanEndNanos, String detail) {
+        Span span = new Span(name, toMillis(spanStartNanos - startNanos), toMillis(spanEndNanos - spanStartNanos), 
+                detail);
+        synchronized (spans) {
+            if (spans.size() < MAX_SPANS) {
+                spans.add(span);
+            } else {
+                droppedSpans++;
+            }
+        }
+    }
+
+    /**
+     * Mark the request as complete.
+     *
+     * @param status The HTTP response status
+     */
+    public void finish(int status) {
+        this.status = status;
+        this.durationNanos = System.nanoTime() - startNanos;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Date getStartTime() {
+        return startTime;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Get the total request duration, or -1 while the request is still running.
+     *
+     * @return Duration in milliseconds
+     */
+    public double getDurationMillis() {
+        long duration = durationNanos;
+        return duration < 0 ? -1 : toMillis(duration);
+    }
+
+    public List<Span> getSpans() {
+        synchronized (spans) {
+            return Collections.unmodifiableList(new ArrayList<>(spans));
+        }
+    }
+
+    public int getDroppedSpans() {
+        synchronized (spans) {
+            return droppedSpans;
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * One timed step of a request.
+     */
+    public static class Span {
+        private final String name;
+        private final double offsetMillis;
+        private final double durationMillis;
+        private final String detail;
+
+        Span(String name, double offsetMillis, double durationMillis, String detail) {
+            this.name = name;
+            this.offsetMillis = offsetMillis;
+            this.durationMillis = durationMillis;
+            this.detail = detail;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the time from the start of the request to the start of this span.
+         *
+         * @return Offset in milliseconds
+         */
+        public double getOffsetMillis() {
+            return offsetMillis;
+        }
+
+        public double getDurationMillis() {
+            return durationMillis;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.banking.application.trace;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the trace of the request being served by the current thread.
+ * <p>
+ * Blocking service code runs on the request thread and sees the trace directly.
+ * Reactive pipelines that fan out onto Reactor threads should carry it along with
+ * {@link #propagate()} so that their database tier calls are still recorded.
+ */
+public final class RequestTraceContext {
+
+    /**
+     * Header carrying the trace id, accepted from callers and sent to the database tier.
+     */
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private static final String CONTEXT_KEY = RequestTrace.class.getName();
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private RequestTraceContext() {
+    }
+
+    /**
+     * Get the trace of the current thread's request.
+     *
+     * @return The trace, or null outside a traced request
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Get the trace carried by a Reactor context, falling back to the current thread.
+     *
+     * @param context The Reactor context
+     * @return The trace, or null outside a traced request
+     */
+    public static RequestTrace current(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, CURRENT.get());
+    }
+
+    static void set(RequestTrace trace) {
+        CURRENT.set(trace);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Create a Reactor context carrying the current thread's trace, for use with
+     * {@code contextWrite}.
+     *
+     * @return The context, empty outside a traced request
+     */
+    public static Context propagate() {
+        RequestTrace trace = CURRENT.get();
+        return trace != null ? Context.of(CONTEXT_KEY, trace) : Context.empty();
+    }
+
+    /**
+     * Run an operation and record it as a span of the current request, if any.
+     *
+     * @param name Span name
+     * @param operation The operation
+     * @return The operation result
+     */
+    public static <T> T span(String name, Supplier<T> operation) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) {
+            return operation.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            trace.addSpan(name, start, System.nanoTime(), null);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.banking.application.trace;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.UUID;
+
+/**
+ * Opens a trace for every API request and hands it to the slow-request recorder
+ * when the request completes. The trace id is taken from the caller's
+ * X-Trace-Id header when present and echoed back in the response.
+ * <p>
+ * Async requests such as imports and ledger exports leave the request thread when
+ * their handler returns; the trace is detached from that thread and picked up again
+ * by the dispatch that completes the request.
+ */
+@Component
+public class RequestTraceInterceptor implements AsyncHandlerInterceptor {
+
+    static final String SERIALIZATION_START_ATTRIBUTE = RequestTraceInterceptor.class.getName() + ".serializationStart";
+
+    private static final String TRACE_ATTRIBUTE = RequestTraceInterceptor.class.getName() + ".trace";
+
+    @Autowired
+    private SlowRequestRecorder slowRequestRecorder;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object started = request.getAttribute(TRACE_ATTRIBUTE);
+        if (started instanceof RequestTrace) {
+            // Async dispatch of a request whose handler already ran
+            RequestTraceContext.set((RequestTrace) started);
+            return true;
+        }
+        String traceId = request.getHeader(RequestTraceContext.TRACE_ID_HEADER);
+        if (!StringUtils.hasText(traceId) || traceId.length() > 64) {
+            traceId = UUID.randomUUID().toString();
+        }
+        RequestTrace trace = new RequestTrace(traceId, request.getMethod(), request.getRequestURI());
+        RequestTraceContext.set(trace);
+        request.setAttribute(TRACE_ATTRIBUTE, trace);
+        response.setHeader(RequestTraceContext.TRACE_ID_HEADER, traceId);
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        // Response bodies are written before postHandle, so this closes the serialization span
+        Object serializationStart = request.getAttribute(SERIALIZATION_START_ATTRIBUTE);
+        RequestTrace trace = RequestTraceContext.current();
+        if (trace != null && serializationStart instanceof Long) {
+            trace.addSpan("serialization", (Long) serializationStart, System.nanoTime(), null);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        RequestTraceContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestTrace trace = RequestTraceContext.current();
+        RequestTraceContext.clear();
+        request.removeAttribute(TRACE_ATTRIBUTE);
+        if (trace != null) {
+            trace.finish(response.getStatus());
+            slowRequestRecorder.offer(trace);
+        }
+    }
+}
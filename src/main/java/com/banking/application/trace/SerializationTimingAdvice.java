@@ -0,0 +1,34 @@
+package com.banking.application.trace;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the point where a traced response body starts being written, so that
+ * {@link RequestTraceInterceptor} can record how long serialization took.
+ */
+@ControllerAdvice
+public class SerializationTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (RequestTraceContext.current() != null && request instanceof ServletServerHttpRequest) {
+            ((ServletServerHttpRequest) request).getServletRequest()
+                    .setAttribute(RequestTraceInterceptor.SERIALIZATION_START_ATTRIBUTE, System.nanoTime());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,82 @@
+package com.banking.application.trace;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent requests that exceeded the slow-request threshold in a
+ * fixed-size ring buffer. Older traces are overwritten, so memory use is bounded.
+ */
+@Component
+public class SlowRequestRecorder {
+
+    private static final Logger logger = LogManager.getLogger(SlowRequestRecorder.class);
+
+    @Value("${trace.slow-request.threshold-ms:1000}")
+    private long thresholdMs;
+
+    @Value("${trace.slow-request.capacity:100}")
+    private int capacity;
+
+    private AtomicReferenceArray<RequestTrace> buffer;
+    private final AtomicLong recorded = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Keep a finished trace if it was slower than the threshold.
+     *
+     * @param trace The finished trace
+     */
+    public void offer(RequestTrace trace) {
+        if (trace.getDurationMillis() < thresholdMs) {
+            return;
+        }
+        long sequence = recorded.getAndIncrement();
+        buffer.set((int) (sequence % capacity), trace);
+        logger.warn("Slow request {} {} took {} ms (trace {})", 
+                trace.getMethod(), trace.getPath(), Math.round(trace.getDurationMillis()), trace.getTraceId());
+    }
+
+    /**
+     * Get the retained slow traces, newest first.
+     *
+     * @return The slow traces
+     */
+    public List<RequestTrace> getSlowRequests() {
+        long end = recorded.get();
+        long start = Math.max(0, end - capacity);
+        List<RequestTrace> traces = new ArrayList<>((int) (end - start));
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            RequestTrace trace = buffer.get((int) (sequence % capacity));
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    public long getThresholdMs() {
+        return thresholdMs;
+    }
+
+    /**
+     * Get the number of slow requests seen since startup, including overwritten ones.
+     *
+     * @return The slow request count
+     */
+    public long getRecordedCount() {
+        return recorded.get();
+    }
+}
@@ -0,0 +1,29 @@
+package com.banking.application.trace;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint serving the slow-request traces at /actuator/slowrequests.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    @Autowired
+    private SlowRequestRecorder slowRequestRecorder;
+
+    @ReadOperation
+    public Map<String, Object> slowRequests() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("thresholdMs", slowRequestRecorder.getThresholdMs());
+        body.put("recorded", slowRequestRecorder.getRecordedCount());
+        body.put("traces", slowRequestRecorder.getSlowRequests());
+        return body;
+    }
+}
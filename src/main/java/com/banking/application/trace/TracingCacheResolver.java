@@ -0,0 +1,111 @@
+package com.banking.application.trace;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Resolves caches from the application's CacheManager and wraps them so that
+ * lookups made by {@code @Cacheable} are recorded as spans of the current request.
+ * The CacheManager itself is left untouched, so cache metrics still bind to the
+ * underlying caches.
+ */
+public class TracingCacheResolver implements CacheResolver {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public TracingCacheResolver(ObjectProvider<CacheManager> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        CacheManager manager = cacheManager.getObject();
+        List<Cache> caches = new ArrayList<>(context.getOperation().getCacheNames().size());
+        for (String cacheName : context.getOperation().getCacheNames()) {
+            Cache cache = manager.getCache(cacheName);
+            if (cache == null) {
+                throw new IllegalArgumentException("Cannot find cache named '" + cacheName + "' for " 
+                        + context.getOperation());
+            }
+            caches.add(new TracingCache(cache));
+        }
+        return caches;
+    }
+
+    /**
+     * Cache decorator that times lookups.
+     */
+    private static class TracingCache implements Cache {
+
+        private final Cache delegate;
+        private final String spanName;
+
+        TracingCache(Cache delegate) {
+            this.delegate = delegate;
+            this.spanName = "cache.get " + delegate.getName();
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return RequestTraceContext.span(spanName, () -> delegate.get(key));
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return RequestTraceContext.span(spanName, () -> delegate.get(key, type));
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return delegate.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return delegate.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return delegate.invalidate();
+        }
+    }
+}
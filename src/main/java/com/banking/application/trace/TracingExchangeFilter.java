@@ -0,0 +1,44 @@
+package com.banking.application.trace;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Propagates the trace id to the database tier and records each call as a span
+ * named after its HTTP method and URI template.
+ */
+@Component
+public class TracingExchangeFilter implements ExchangeFilterFunction {
+
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            RequestTrace trace = RequestTraceContext.current(context);
+            if (trace == null) {
+                return next.exchange(request);
+            }
+            
+            ClientRequest tracedRequest = ClientRequest.from(request)
+                    .header(RequestTraceContext.TRACE_ID_HEADER, trace.getTraceId())
+                    .build();
+            String uri = request.attribute(URI_TEMPLATE_ATTRIBUTE)
+                    .map(Object::toString)
+                    .orElse(request.url().getPath());
+            String spanName = request.method().name() + " " + uri;
+            long start = System.nanoTime();
+            
+            return next.exchange(tracedRequest)
+                    .doOnSuccess(response -> trace.addSpan(spanName, start, System.nanoTime(), 
+                            String.valueOf(response.rawStatusCode())))
+                    .doOnError(e -> trace.addSpan(spanName, start, System.nanoTime(), 
+                            e.getClass().getSimpleName()));
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package com.banking.application.cache;
+
+import com.banking.application.model.Account;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccountSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsWhatWasWritten() throws IOException {
+        AccountSnapshotFile file = new AccountSnapshotFile(directory.resolve("accounts.snapshot"));
+        Account account = new Account("ACC00000001", "Alice", 1000.0);
+        account.setCreationDate(new Date(1_000_000L));
+        Account unnamed = new Account("ACC00000002", null, 25.0);
+        unnamed.setCreationDate(null);
+
+        file.write(Arrays.asList(account, unnamed));
+        AccountSnapshotFile.Snapshot snapshot = file.read(10);
+
+        assertEquals(2, snapshot.getAccounts().size());
+        assertEquals("ACC00000001", snapshot.getAccounts().get(0).getAccountNumber());
+        assertEquals("Alice", snapshot.getAccounts().get(0).getAccountHolderName());
+        assertEquals(1000.0, snapshot.getAccounts().get(0).getBalance());
+        assertEquals(new Date(1_000_000L), snapshot.getAccounts().get(0).getCreationDate());
+        assertNull(snapshot.getAccounts().get(1).getAccountHolderName());
+        assertNull(snapshot.getAccounts().get(1).getCreationDate());
+    }
+
+    @Test
+    void missingFileIsNoSnapshot() throws IOException {
+        assertNull(new AccountSnapshotFile(directory.resolve("missing.snapshot")).read(10));
+    }
+
+    @Test
+    void rejectsNegativeEntryCount() throws IOException {
+        Path path = writeHeader(-1);
+
+        assertThrows(IOException.class, () -> new AccountSnapshotFile(path).read(10));
+    }
+
+    @Test
+    void rejectsEntryCountAboveLimit() throws IOException {
+        Path path = writeHeader(Integer.MAX_VALUE);
+
+        assertThrows(IOException.class, () -> new AccountSnapshotFile(path).read(10));
+    }
+
+    @Test
+    void rejectsTruncatedEntries() throws IOException {
+        Path path = writeHeader(5);
+
+        assertThrows(IOException.class, () -> new AccountSnapshotFile(path).read(10));
+    }
+
+    private Path writeHeader(int count) throws IOException {
+        Path written = directory.resolve("valid.snapshot");
+        new AccountSnapshotFile(written).write(Collections.emptyList());
+        byte[] bytes = Files.readAllBytes(written);
+        Path corrupt = directory.resolve("corrupt.snapshot");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(corrupt))) {
+            // Keep the magic, version and time written; replace the entry count
+            out.write(bytes, 0, bytes.length - Integer.BYTES);
+            out.writeInt(count);
+        }
+        return corrupt;
+    }
+}
@@ -0,0 +1,34 @@
+package com.banking.application.cache;
+
+import com.banking.application.model.Account;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OffHeapAccountCacheTest {
+
+    private final OffHeapAccountCache cache = new OffHeapAccountCache("accounts",
+            new OffHeapAccountStore(100, 1, Duration.ofMinutes(5)),
+            new CaffeineCache("accounts", Caffeine.newBuilder().maximumSize(100).build(), false));
+
+    @Test
+    void putOfNullEvictsInsteadOfFailing() {
+        cache.put("ACC00000001", new Account("ACC00000001", "Alice", 10.0));
+
+        cache.put("ACC00000001", null);
+
+        assertNull(cache.get("ACC00000001"));
+    }
+
+    @Test
+    void nullFromTheLoaderIsReturnedAndNotCached() {
+        assertNull(cache.get("ACC00000001", () -> null));
+
+        assertEquals(10.0, cache.get("ACC00000001", () -> new Account("ACC00000001", "Alice", 10.0)).getBalance());
+    }
+}
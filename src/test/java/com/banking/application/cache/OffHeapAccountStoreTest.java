@@ -0,0 +1,145 @@
+package com.banking.application.cache;
+
+import com.banking.application.model.Account;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapAccountStoreTest {
+
+    // One segment of 6 entries: ceil(6 / 0.75) + 1 = 9 slots
+    private static final int MAX_ENTRIES = 6;
+    private static final int SLOTS = 9;
+
+    private final OffHeapAccountStore store = new OffHeapAccountStore(MAX_ENTRIES, 1, Duration.ofMinutes(5));
+
+    @Test
+    void probeRunWrapsAroundTheEndOfTheTable() {
+        List<String> numbers = numbersWithHome(SLOTS - 1, 3);
+        for (String number : numbers) {
+            assertTrue(store.put(account(number, 10.0)));
+        }
+
+        for (String number : numbers) {
+            assertEquals(10.0, store.get(number).getBalance());
+        }
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void removalShiftsBackEntriesAcrossTheWrapAround() {
+        List<String> numbers = numbersWithHome(SLOTS - 1, 3);
+        String other = numbersWithHome(0, 1).get(0);
+        for (String number : numbers) {
+            store.put(account(number, 10.0));
+        }
+        store.put(account(other, 20.0));
+
+        assertTrue(store.remove(numbers.get(0)));
+
+        assertNull(store.get(numbers.get(0)));
+        assertEquals(10.0, store.get(numbers.get(1)).getBalance());
+        assertEquals(10.0, store.get(numbers.get(2)).getBalance());
+        assertEquals(20.0, store.get(other).getBalance());
+        assertEquals(3, store.size());
+        assertFalse(store.remove(numbers.get(0)));
+    }
+
+    @Test
+    void removedAccountCanBeStoredAgain() {
+        List<String> numbers = numbersWithHome(SLOTS - 1, 3);
+        for (String number : numbers) {
+            store.put(account(number, 10.0));
+        }
+
+        store.remove(numbers.get(1));
+        store.put(account(numbers.get(1), 30.0));
+
+        assertEquals(10.0, store.get(numbers.get(0)).getBalance());
+        assertEquals(30.0, store.get(numbers.get(1)).getBalance());
+        assertEquals(10.0, store.get(numbers.get(2)).getBalance());
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void putReplacesTheStoredCopy() {
+        store.put(account("ACC00000001", 10.0));
+        store.put(account("ACC00000001", 15.5));
+
+        assertEquals(15.5, store.get("ACC00000001").getBalance());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void matchesAMapUnderRandomPutsAndRemoves() {
+        Random random = new Random(42);
+        Map<String, Double> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            String number = String.format("ACC%08d", random.nextInt(12));
+            if (random.nextBoolean() && (expected.size() < MAX_ENTRIES || expected.containsKey(number))) {
+                double balance = random.nextInt(100_000) / 100.0;
+                store.put(account(number, balance));
+                expected.put(number, balance);
+            } else {
+                assertEquals(expected.remove(number) != null, store.remove(number));
+            }
+            for (Map.Entry<String, Double> entry : expected.entrySet()) {
+                Account stored = store.get(entry.getKey());
+                assertNotNull(stored, entry.getKey());
+                assertEquals(entry.getValue(), stored.getBalance());
+            }
+            assertEquals(expected.size(), store.size());
+        }
+    }
+
+    @Test
+    void fullStoreEvictsToMakeRoom() {
+        for (int i = 0; i < MAX_ENTRIES + 1; i++) {
+            store.put(account(String.format("ACC%08d", i), 10.0));
+        }
+
+        assertEquals(MAX_ENTRIES, store.size());
+        assertEquals(1, store.evictionCount());
+        assertNotNull(store.get(String.format("ACC%08d", MAX_ENTRIES)));
+    }
+
+    @Test
+    void rejectsAccountsThatDoNotFitTheRecordLayout() {
+        assertFalse(store.put(account("ACC00000001", 10.001)));
+        assertFalse(store.put(account("ACC00000000000000000000001", 10.0)));
+
+        assertNull(store.get("ACC00000001"));
+        assertEquals(2, store.rejectionCount());
+    }
+
+    private static Account account(String number, double balance) {
+        return new Account(number, "Holder " + number, balance);
+    }
+
+    /**
+     * Find account numbers whose home slot is {@code home}, mirroring the store's hashing.
+     */
+    private static List<String> numbersWithHome(int home, int count) {
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; numbers.size() < count; i++) {
+            String number = String.format("ACC%08d", i);
+            int h = number.hashCode() * 0x9E3779B9;
+            h ^= h >>> 16;
+            if ((int) (((h & 0xFFFFFFFFL) * SLOTS) >>> 32) == home) {
+                numbers.add(number);
+            }
+        }
+        return numbers;
+    }
+}